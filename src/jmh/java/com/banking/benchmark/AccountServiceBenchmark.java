@@ -0,0 +1,62 @@
+package com.banking.benchmark;
+
+import com.banking.dto.TransactionRequest;
+import com.banking.dto.TransactionResponse;
+import com.banking.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit, withdraw and transfer through AccountService against H2, including
+ * the transaction, the account lookup and the transaction row insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private AccountService accountService;
+
+    private final TransactionRequest request = new TransactionRequest(new BigDecimal("0.01"), "benchmark");
+    private final TransactionRequest toCustomer =
+            new TransactionRequest(new BigDecimal("0.01"), "benchmark", BenchmarkApplication.CUSTOMER_ACCOUNT);
+    private final TransactionRequest toAdmin =
+            new TransactionRequest(new BigDecimal("0.01"), "benchmark", BenchmarkApplication.ADMIN_ACCOUNT);
+
+    private boolean forward;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accountService = BenchmarkApplication.start().getBean(AccountService.class);
+        BenchmarkApplication.authenticate("admin");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkApplication.stop();
+    }
+
+    @Benchmark
+    public TransactionResponse deposit() {
+        return accountService.deposit(BenchmarkApplication.ADMIN_ACCOUNT, request);
+    }
+
+    @Benchmark
+    public TransactionResponse withdraw() {
+        return accountService.withdraw(BenchmarkApplication.ADMIN_ACCOUNT, request);
+    }
+
+    @Benchmark
+    public String transfer() {
+        // Alternate direction so neither balance drains
+        forward = !forward;
+        return forward
+                ? accountService.transfer(BenchmarkApplication.ADMIN_ACCOUNT, toCustomer)
+                : accountService.transfer(BenchmarkApplication.CUSTOMER_ACCOUNT, toAdmin);
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.benchmark;
+
+import com.banking.BankingApplication;
+import com.banking.model.User;
+import com.banking.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Boots the application against an in-memory H2 database for benchmarks.
+ * DataInitializer seeds the admin account 1000000001 and the customer
+ * accounts 2000000001 and 2000000002.
+ */
+public final class BenchmarkApplication {
+
+    public static final String ADMIN_ACCOUNT = "1000000001";
+    public static final String CUSTOMER_ACCOUNT = "2000000001";
+
+    private static final String[] H2_PROPERTIES = {
+            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "server.port=0",
+            "logging.level.com.banking=WARN",
+            "logging.level.org.springframework.security=WARN"
+    };
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkApplication() {}
+
+    public static synchronized ConfigurableApplicationContext start() {
+        if (context == null) {
+            context = new SpringApplicationBuilder(BankingApplication.class)
+                    .properties(H2_PROPERTIES)
+                    .run();
+        }
+        return context;
+    }
+
+    public static synchronized void stop() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    // Benchmark threads are not the setup thread, so the principal is shared globally
+    public static void authenticate(String username) {
+        User user = context.getBean(UserRepository.class).findByUsername(username)
+                .orElseThrow(() -> new IllegalStateException("Seed user missing: " + username));
+
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.banking.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for comparing platform and virtual request
+ * threads. Start the application once with spring.threads.virtual.enabled=false
+ * and once with true, run this against each and compare the printed JSON.
+ *
+ * <pre>
+ * mvn -P benchmarks test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.banking.benchmark.LoadTest \
+ *     -Dexec.args="http://localhost:8080 5000 60"
+ * </pre>
+ *
+ * Every client keeps exactly one request in flight: mostly balance reads,
+ * with a deposit on every tenth request. All clients share one login.
+ */
+public final class LoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final String baseUrl;
+    private final String account;
+    private String authorization;
+    private volatile long deadline;
+
+    private LoadTest(String baseUrl, String account) {
+        this.baseUrl = baseUrl;
+        this.account = account;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        LoadTest loadTest = new LoadTest(baseUrl, BenchmarkApplication.CUSTOMER_ACCOUNT);
+        loadTest.login("customer1", "customer123");
+        loadTest.run(clients, seconds);
+    }
+
+    private void login(String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        authorization = "Bearer " + matcher.group(1);
+    }
+
+    private void run(int clients, int seconds) {
+        long start = System.nanoTime();
+        deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop(i, 0);
+        }
+        CompletableFuture.allOf(loops).join();
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf(
+                "{\"clients\":%d,\"seconds\":%.1f,\"requests\":%d,\"errors\":%d,\"throughput\":%.1f," +
+                "\"p50_ms\":%.2f,\"p99_ms\":%.2f,\"p999_ms\":%.2f,\"max_ms\":%.2f}%n",
+                clients, elapsed, completed.sum(), failed.sum(), completed.sum() / elapsed,
+                latencies.getValueAtPercentile(50) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getValueAtPercentile(99.9) / 1000.0,
+                latencies.getMaxValue() / 1000.0);
+    }
+
+    private CompletableFuture<Void> loop(int clientId, long iteration) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long sent = System.nanoTime();
+        return client.sendAsync(nextRequest(clientId, iteration), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent),
+                            latencies.getHighestTrackableValue()));
+                    if (error != null || response.statusCode() >= 400) {
+                        failed.increment();
+                    } else {
+                        completed.increment();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(clientId, iteration + 1));
+    }
+
+    private HttpRequest nextRequest(int clientId, long iteration) {
+        if ((clientId + iteration) % 10 == 0) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/account/" + account + "/deposit"))
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":0.01,\"description\":\"load test\"}"))
+                    .build();
+        }
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/account/" + account + "/balance"))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.banking.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the TransactionRepository hot queries on a seeded H2 database,
+ * with only the V1 baseline schema and with the V2 composite indexes applied.
+ * Compare the indexed=false and indexed=true results of each query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionHistoryQueryBenchmark {
+
+    private static final String[] TYPES = {"DEPOSIT", "WITHDRAWAL", "TRANSFER_IN", "TRANSFER_OUT"};
+
+    @Param({"2000000"})
+    public int rows;
+
+    @Param({"2000"})
+    public int accounts;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private Connection connection;
+    private PreparedStatement history;
+    private PreparedStatement dateRange;
+    private PreparedStatement byType;
+    private LocalDateTime start;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:history_" + indexed + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/migration/h2/V1__baseline_schema.sql'");
+        }
+
+        seed();
+
+        if (indexed) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RUNSCRIPT FROM 'classpath:db/migration/h2/V2__transactions_history_indexes.sql'");
+                statement.execute("ANALYZE");
+            }
+        }
+
+        history = connection.prepareStatement(
+                "SELECT * FROM transactions WHERE account_id = ? ORDER BY transaction_date DESC, id DESC LIMIT 50");
+        dateRange = connection.prepareStatement(
+                "SELECT * FROM transactions WHERE account_id = ? AND transaction_date BETWEEN ? AND ? " +
+                "ORDER BY transaction_date DESC");
+        byType = connection.prepareStatement(
+                "SELECT * FROM transactions WHERE account_id = ? AND type = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int historyPage() throws SQLException {
+        history.setLong(1, randomAccount());
+        return drain(history);
+    }
+
+    @Benchmark
+    public int dateRangeStatement() throws SQLException {
+        LocalDateTime from = start.plusDays(ThreadLocalRandom.current().nextInt(300));
+        dateRange.setLong(1, randomAccount());
+        dateRange.setTimestamp(2, Timestamp.valueOf(from));
+        dateRange.setTimestamp(3, Timestamp.valueOf(from.plusDays(30)));
+        return drain(dateRange);
+    }
+
+    @Benchmark
+    public int transactionsByType() throws SQLException {
+        byType.setLong(1, randomAccount());
+        byType.setString(2, TYPES[ThreadLocalRandom.current().nextInt(TYPES.length)]);
+        return drain(byType);
+    }
+
+    private void seed() throws SQLException {
+        start = LocalDateTime.now().minusYears(1);
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO accounts (id, account_number, balance, account_type, status, version) " +
+                "VALUES (?, ?, 0, 'SAVINGS', 'ACTIVE', 0)")) {
+            for (int i = 1; i <= accounts; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, String.valueOf(3000000000L + i));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        // Rows are spread over a year with interleaved accounts, like real postings
+        long secondsPerRow = Math.max(1, 365L * 24 * 3600 / rows);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO transactions (id, amount, type, description, transaction_date, balance_after, account_id) " +
+                "VALUES (?, 10.00, ?, 'benchmark', ?, 100.00, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, TYPES[i % TYPES.length]);
+                insert.setTimestamp(3, Timestamp.valueOf(start.plusSeconds(i * secondsPerRow)));
+                insert.setLong(4, 1 + (i * 7919L) % accounts);
+                insert.addBatch();
+                if (i % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private long randomAccount() {
+        return 1 + ThreadLocalRandom.current().nextInt(accounts);
+    }
+
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
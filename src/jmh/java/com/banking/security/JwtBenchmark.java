@@ -0,0 +1,67 @@
+package com.banking.security;
+
+import com.banking.model.Role;
+import com.banking.model.User;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtils token generation and validation, with and without the
+ * verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils verifyingJwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String secret = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded());
+        cachingJwtUtils = newJwtUtils(secret, 10_000);
+        verifyingJwtUtils = newJwtUtils(secret, 0);
+
+        User user = new User("benchmark", "benchmark@banking.com", "n/a", "Bench", "Mark", Role.CUSTOMER);
+        user.setId(1L);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        token = cachingJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public Object validateVerifying() {
+        return verifyingJwtUtils.getVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public Object validateCached() {
+        return cachingJwtUtils.getVerifiedClaims(token);
+    }
+
+    static JwtUtils newJwtUtils(String secret, long verifiedCacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,37 @@
+package com.banking.service;
+
+import com.banking.benchmark.BenchmarkApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthService.generateAccountNumber, including its uniqueness check against H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountNumberBenchmark {
+
+    private AuthService authService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Call the target directly; the package-private method is not part of the proxy contract
+        authService = AopTestUtils.getUltimateTargetObject(BenchmarkApplication.start().getBean(AuthService.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkApplication.stop();
+    }
+
+    @Benchmark
+    public String generateAccountNumber() {
+        return authService.generateAccountNumber();
+    }
+}
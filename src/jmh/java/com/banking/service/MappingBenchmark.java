@@ -0,0 +1,69 @@
+package com.banking.service;
+
+import com.banking.dto.AccountResponse;
+import com.banking.dto.TransactionResponse;
+import com.banking.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in AccountService and Jackson serialization of the
+ * resulting responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private AccountService accountService;
+    private ObjectMapper objectMapper;
+    private Account account;
+    private Transaction transaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accountService = new AccountService();
+        ReflectionTestUtils.setField(accountService, "inMemoryLedger", new InMemoryLedger());
+
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        User user = new User("customer1", "customer1@banking.com", "n/a", "John", "Doe", Role.CUSTOMER);
+        user.setId(2L);
+        account = new Account("2000000001", AccountType.SAVINGS, user);
+        account.setId(2L);
+        account.setBalance(new BigDecimal("5000.00"));
+
+        transaction = new Transaction(new BigDecimal("125.50"), TransactionType.TRANSFER_OUT,
+                "Transfer to 2000000002", account, new BigDecimal("4874.50"));
+        transaction.setId(1L);
+        transaction.setToAccountNumber("2000000002");
+    }
+
+    @Benchmark
+    public AccountResponse mapAccount() {
+        return accountService.mapToAccountResponse(account);
+    }
+
+    @Benchmark
+    public TransactionResponse mapTransaction() {
+        return accountService.mapToTransactionResponse(transaction);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeAccount() throws Exception {
+        return objectMapper.writeValueAsBytes(accountService.mapToAccountResponse(account));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeTransaction() throws Exception {
+        return objectMapper.writeValueAsBytes(accountService.mapToTransactionResponse(transaction));
+    }
+}
@@ -1,8 +1,8 @@
 package com.banking.config;
 
 import com.banking.model.*;
-import com.banking.repository.AccountRepository;
 import com.banking.repository.UserRepository;
+import com.banking.service.ShardRouter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,8 +16,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private UserRepository userRepository;
     
+    // Places each seeded account on its shard; a plain save when sharding is off
     @Autowired
-    private AccountRepository accountRepository;
+    private ShardRouter shardRouter;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -32,7 +33,7 @@ public class DataInitializer implements CommandLineRunner {
             
             Account adminAccount = new Account("1000000001", AccountType.BUSINESS, admin);
             adminAccount.setBalance(new BigDecimal("1000000.00"));
-            accountRepository.save(adminAccount);
+            shardRouter.placeAccount(adminAccount);
             
             System.out.println("Admin user created: username=admin, password=admin123, account=1000000001");
         }
@@ -45,7 +46,7 @@ public class DataInitializer implements CommandLineRunner {
             
             Account customerAccount = new Account("2000000001", AccountType.SAVINGS, customer);
             customerAccount.setBalance(new BigDecimal("5000.00"));
-            accountRepository.save(customerAccount);
+            shardRouter.placeAccount(customerAccount);
             
             System.out.println("Sample customer created: username=customer1, password=customer123, account=2000000001");
         }
@@ -58,7 +59,7 @@ public class DataInitializer implements CommandLineRunner {
             
             Account customer2Account = new Account("2000000002", AccountType.CHECKING, customer2);
             customer2Account.setBalance(new BigDecimal("3000.00"));
-            accountRepository.save(customer2Account);
+            shardRouter.placeAccount(customer2Account);
             
             System.out.println("Sample customer2 created: username=customer2, password=customer123, account=2000000002");
         }
@@ -0,0 +1,86 @@
+package com.banking.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for replication when the primary and replicas are local H2
+ * databases (application-replicas.yml). Every interval the primary is dumped
+ * with SCRIPT and each replica is rebuilt from the dump while holding H2's
+ * exclusive mode, so replica reads wait for the reload instead of seeing a
+ * half-built schema. Replicas therefore lag by up to one interval, which
+ * exercises the lag checks. Not meant for anything but local testing.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.read-replicas.h2-sync.enabled", havingValue = "true")
+public class H2ReplicaSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(H2ReplicaSync.class);
+
+    @Autowired
+    private ReplicaDataSources replicaDataSources;
+
+    @Value("${banking.read-replicas.h2-sync.interval-ms:500}")
+    private long intervalMs;
+
+    private ScheduledExecutorService sync;
+
+    @PostConstruct
+    public void start() {
+        sync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "h2-replica-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sync.scheduleWithFixedDelay(this::copyPrimary, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Copying the H2 primary to {} replicas every {} ms", replicaDataSources.size(), intervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sync != null) {
+            sync.shutdownNow();
+        }
+    }
+
+    private void copyPrimary() {
+        List<String> script;
+        try {
+            script = replicaDataSources.primaryJdbc().queryForList("SCRIPT", String.class);
+        } catch (RuntimeException e) {
+            logger.warn("Could not dump the H2 primary: {}", e.getMessage());
+            return;
+        }
+
+        for (int replica = 0; replica < replicaDataSources.size(); replica++) {
+            try (Connection connection = replicaDataSources.replica(replica).getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SET EXCLUSIVE 1");
+                try {
+                    statement.execute("DROP ALL OBJECTS");
+                    for (String sql : script) {
+                        statement.execute(sql);
+                    }
+                } finally {
+                    statement.execute("SET EXCLUSIVE 0");
+                }
+            } catch (SQLException e) {
+                logger.warn("Could not copy the H2 primary to replica {}: {}", replica, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.config;
+
+import com.banking.service.ReplicaRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puts replica pools next to the primary (spring.datasource) behind a
+ * {@link ReplicaRoutingDataSource}. Read-only transactions are served by a
+ * replica chosen by {@link ReplicaRouter}; writes, Flyway and work outside a
+ * transaction use the primary. Replicas are expected to carry the primary's
+ * schema through replication and are never migrated.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.read-replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Autowired
+    private ReadReplicaProperties properties;
+
+    @Value("${spring.jpa.open-in-view:true}")
+    private boolean openInView;
+
+    @Value("${banking.sharding.enabled:false}")
+    private boolean sharding;
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(DataSourceProperties primaryProperties) {
+        // A request-wide EntityManager keeps the connection of its first transaction, read-only or not
+        if (openInView) {
+            throw new IllegalStateException("banking.read-replicas requires spring.jpa.open-in-view=false");
+        }
+        if (sharding) {
+            throw new IllegalStateException("banking.read-replicas cannot be combined with banking.sharding");
+        }
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException("banking.read-replicas.replicas must list at least one datasource");
+        }
+
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        // A short connection timeout keeps an unreachable replica from stalling the health check
+        List<DataSource> replicas = new ArrayList<>();
+        for (int replica = 0; replica < properties.getReplicas().size(); replica++) {
+            HikariDataSource dataSource = properties.getReplicas().get(replica).initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            dataSource.setPoolName("replica-" + replica);
+            dataSource.setMaximumPoolSize(properties.getPoolSize());
+            dataSource.setConnectionTimeout(properties.getConnectionTimeoutMs());
+            replicas.add(dataSource);
+        }
+
+        logger.info("Routing read-only transactions across {} replicas", replicas.size());
+        return new ReplicaDataSources(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaDataSources sources, ReplicaRouter replicaRouter) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int replica = 0; replica < sources.size(); replica++) {
+            targets.put(replica, sources.replica(replica));
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaRouter);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(sources.primary());
+        routing.afterPropertiesSet();
+
+        // The read-only flag is only known once the transaction has begun, so pick the pool at the first statement
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Async request processing (e.g. streamed history) keeps a recent writer's reads on the primary
+    @Bean
+    public TaskDecorator replicaTaskDecorator(ReplicaRouter replicaRouter) {
+        return runnable -> {
+            boolean primaryOnly = replicaRouter.readsFromPrimary();
+            return () -> {
+                if (primaryOnly) {
+                    replicaRouter.runOnPrimary(runnable);
+                } else {
+                    runnable.run();
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Connection settings per replica; the primary stays spring.datasource
+@ConfigurationProperties(prefix = "banking.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled;
+
+    private int poolSize = 10;
+
+    private long connectionTimeoutMs = 1000;
+
+    private List<DataSourceProperties> replicas = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+
+    public long getConnectionTimeoutMs() { return connectionTimeoutMs; }
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) { this.connectionTimeoutMs = connectionTimeoutMs; }
+
+    public List<DataSourceProperties> getReplicas() { return replicas; }
+    public void setReplicas(List<DataSourceProperties> replicas) { this.replicas = replicas; }
+}
@@ -0,0 +1,48 @@
+package com.banking.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The primary and replica pools behind {@link ReplicaRoutingDataSource}. Work
+ * done through these bypasses routing and never joins a JPA transaction.
+ */
+public class ReplicaDataSources {
+
+    private final DataSource primary;
+    private final JdbcTemplate primaryJdbc;
+    private final List<DataSource> replicas;
+    private final List<JdbcTemplate> replicaJdbcTemplates = new ArrayList<>();
+
+    public ReplicaDataSources(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.primaryJdbc = new JdbcTemplate(primary);
+        this.replicas = List.copyOf(replicas);
+        for (DataSource replica : this.replicas) {
+            replicaJdbcTemplates.add(new JdbcTemplate(replica));
+        }
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public JdbcTemplate primaryJdbc() {
+        return primaryJdbc;
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    public DataSource replica(int replica) {
+        return replicas.get(replica);
+    }
+
+    public JdbcTemplate replicaJdbc(int replica) {
+        return replicaJdbcTemplates.get(replica);
+    }
+}
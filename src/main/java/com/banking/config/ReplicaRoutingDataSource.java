@@ -0,0 +1,24 @@
+package com.banking.config;
+
+import com.banking.service.ReplicaRouter;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out replica connections to read-only transactions and primary
+ * connections to everything else. Transactions mark themselves read-only only
+ * after the JPA transaction has begun, so this must sit behind a
+ * LazyConnectionDataSourceProxy that defers the lookup to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaRouter replicaRouter;
+
+    public ReplicaRoutingDataSource(ReplicaRouter replicaRouter) {
+        this.replicaRouter = replicaRouter;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaRouter.replicaForCurrentRead();
+    }
+}
@@ -0,0 +1,36 @@
+package com.banking.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The physical shard pools behind {@link ShardRoutingDataSource}. Work done
+ * through these bypasses routing and never joins a JPA transaction.
+ */
+public class ShardDataSources {
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+
+    public ShardDataSources(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+        for (DataSource dataSource : this.dataSources) {
+            jdbcTemplates.add(new JdbcTemplate(dataSource));
+        }
+    }
+
+    public int size() {
+        return dataSources.size();
+    }
+
+    public DataSource get(int shard) {
+        return dataSources.get(shard);
+    }
+
+    public JdbcTemplate jdbc(int shard) {
+        return jdbcTemplates.get(shard);
+    }
+}
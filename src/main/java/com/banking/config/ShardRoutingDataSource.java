@@ -0,0 +1,16 @@
+package com.banking.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the shard selected by {@link ShardContext}. The
+ * key is read when a connection is acquired, so it must be set before a
+ * transaction starts and cannot change within one.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.get();
+    }
+}
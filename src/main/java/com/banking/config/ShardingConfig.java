@@ -0,0 +1,152 @@
+package com.banking.config;
+
+import com.banking.service.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single datasource with one pool per shard behind a
+ * {@link ShardRoutingDataSource}. Every shard carries the full schema and is
+ * migrated by Flyway; accounts and their transactions live on the shard chosen
+ * by {@link ShardRouter}, everything else on the home shard (shard 0).
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig implements WebMvcConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    // Each shard draws transaction ids from its own block, so ids stay unique when rows move between shards
+    private static final long TRANSACTION_ID_BLOCK = 1_000_000_000_000_000L;
+
+    @Autowired
+    private ShardingProperties properties;
+
+    @Autowired
+    private ObjectProvider<ShardRouter> shardRouter;
+
+    @Value("${spring.jpa.open-in-view:true}")
+    private boolean openInView;
+
+    @Bean
+    public ShardDataSources shardDataSources() {
+        // A request-wide EntityManager keeps its first connection, which would pin the request to one shard
+        if (openInView) {
+            throw new IllegalStateException("banking.sharding requires spring.jpa.open-in-view=false");
+        }
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("banking.sharding.shards must list at least one datasource");
+        }
+
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int shard = 0; shard < properties.getShards().size(); shard++) {
+            DataSourceProperties shardProperties = properties.getShards().get(shard);
+            HikariDataSource dataSource = shardProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setMaximumPoolSize(properties.getPoolSize());
+            dataSources.add(dataSource);
+        }
+
+        logger.info("Sharding enabled across {} datasources", dataSources.size());
+        return new ShardDataSources(dataSources);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(ShardRouter.HOME_SHARD));
+        return routing;
+    }
+
+    // Flyway is configured against the primary datasource; apply the same migrations to every shard
+    @Bean
+    public FlywayMigrationStrategy shardedMigrationStrategy(ShardDataSources shards) {
+        return flyway -> {
+            for (int shard = 0; shard < shards.size(); shard++) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shards.get(shard))
+                        .load()
+                        .migrate();
+                reserveTransactionIds(shards.jdbc(shard), shard);
+            }
+        };
+    }
+
+    // Async request processing (e.g. streamed responses) continues on the shard the request was routed to
+    @Bean
+    public TaskDecorator shardContextTaskDecorator() {
+        return runnable -> {
+            Integer shard = ShardContext.get();
+            return () -> {
+                Integer previous = ShardContext.get();
+                ShardContext.set(shard);
+                try {
+                    runnable.run();
+                } finally {
+                    ShardContext.set(previous);
+                }
+            };
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardRoutingInterceptor(shardRouter.getObject()))
+                .addPathPatterns("/api/account/**");
+    }
+
+    private void reserveTransactionIds(JdbcTemplate jdbc, int shard) {
+        long base = shard * TRANSACTION_ID_BLOCK;
+        if (base == 0) {
+            return;
+        }
+
+        String product = jdbc.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            Long current = jdbc.queryForObject(
+                    "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TRANSACTIONS_SEQ'",
+                    Long.class);
+            if (current != null && current < base) {
+                jdbc.execute("ALTER SEQUENCE transactions_seq RESTART WITH " + base);
+            }
+        } else {
+            // MySQL emulates the sequence with a single-row table
+            jdbc.update("UPDATE transactions_seq SET next_val = ? WHERE next_val < ?", base, base);
+        }
+    }
+}
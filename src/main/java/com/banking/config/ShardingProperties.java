@@ -0,0 +1,27 @@
+package com.banking.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Connection settings per shard; the list index is the shard id and shard 0 is the home shard
+@ConfigurationProperties(prefix = "banking.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private int poolSize = 10;
+
+    private List<DataSourceProperties> shards = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+
+    public List<DataSourceProperties> getShards() { return shards; }
+    public void setShards(List<DataSourceProperties> shards) { this.shards = shards; }
+}
@@ -1,17 +1,40 @@
 package com.banking.controller;
 
 import com.banking.dto.AccountResponse;
+import com.banking.dto.BatchTransferRequest;
+import com.banking.dto.BatchTransferResponse;
+import com.banking.dto.StatementResponse;
+import com.banking.dto.TransactionPageResponse;
 import com.banking.dto.TransactionRequest;
 import com.banking.dto.TransactionResponse;
+import com.banking.dto.TransferStatusResponse;
+import com.banking.exception.ServiceOverloadedException;
 import com.banking.service.AccountService;
+import com.banking.service.AsyncTransferService;
+import com.banking.service.BankingMetrics;
+import com.banking.service.BatchTransferService;
+import com.banking.service.IdempotencyService;
+import com.banking.service.StatementExportService;
+import com.banking.service.StatementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -22,12 +45,33 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
     
+    @Autowired
+    private BatchTransferService batchTransferService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private BankingMetrics bankingMetrics;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private AsyncTransferService asyncTransferService;
+    
+    @Autowired
+    private StatementService statementService;
+    
+    @Autowired
+    private StatementExportService statementExportService;
+    
     @GetMapping("/my-account")
     @Hidden
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> getMyAccount() {
         try {
-            AccountResponse account = accountService.getMyAccount();
+            AccountResponse account = bankingMetrics.record("my_account", accountService::getMyAccount);
             return ResponseEntity.ok(account);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -38,7 +82,7 @@ public class AccountController {
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> getAccountDetails(@PathVariable String accountNumber) {
         try {
-            AccountResponse account = accountService.getAccountDetails(accountNumber);
+            AccountResponse account = bankingMetrics.record("account_details", () -> accountService.getAccountDetails(accountNumber));
             return ResponseEntity.ok(account);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -49,7 +93,7 @@ public class AccountController {
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> getBalance(@PathVariable String accountNumber) {
         try {
-            BigDecimal balance = accountService.getBalance(accountNumber);
+            BigDecimal balance = bankingMetrics.record("balance", () -> accountService.getBalance(accountNumber));
             return ResponseEntity.ok().body("{\"balance\": " + balance + "}");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -59,9 +103,12 @@ public class AccountController {
     @PostMapping("/{accountNumber}/deposit")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> deposit(@PathVariable String accountNumber, 
-                                   @Valid @RequestBody TransactionRequest request) {
+                                   @Valid @RequestBody TransactionRequest request,
+                                   @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            TransactionResponse transaction = accountService.deposit(accountNumber, request);
+            TransactionResponse transaction = bankingMetrics.record("deposit", () -> idempotencyService.execute(
+                    idempotencyKey, fingerprint("deposit", accountNumber, request), TransactionResponse.class,
+                    () -> accountService.deposit(accountNumber, request)));
             return ResponseEntity.ok(transaction);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -71,9 +118,12 @@ public class AccountController {
     @PostMapping("/{accountNumber}/withdraw")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> withdraw(@PathVariable String accountNumber, 
-                                    @Valid @RequestBody TransactionRequest request) {
+                                    @Valid @RequestBody TransactionRequest request,
+                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            TransactionResponse transaction = accountService.withdraw(accountNumber, request);
+            TransactionResponse transaction = bankingMetrics.record("withdraw", () -> idempotencyService.execute(
+                    idempotencyKey, fingerprint("withdraw", accountNumber, request), TransactionResponse.class,
+                    () -> accountService.withdraw(accountNumber, request)));
             return ResponseEntity.ok(transaction);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
@@ -83,10 +133,51 @@ public class AccountController {
     @PostMapping("/{accountNumber}/transfer")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> transfer(@PathVariable String accountNumber, 
-                                    @Valid @RequestBody TransactionRequest request) {
+                                    @Valid @RequestBody TransactionRequest request,
+                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            String message = accountService.transfer(accountNumber, request);
+            if (asyncTransferService.isEnabled()) {
+                // A repeated Idempotency-Key answers with the original transfer id
+                TransferStatusResponse accepted = bankingMetrics.record("transfer_submit", () -> idempotencyService.execute(
+                        idempotencyKey, fingerprint("transfer", accountNumber, request), TransferStatusResponse.class,
+                        () -> asyncTransferService.submit(accountNumber, request)));
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/account/transfers/" + accepted.getTransferId()))
+                        .body(accepted);
+            }
+            
+            String message = bankingMetrics.record("transfer", () -> idempotencyService.execute(
+                    idempotencyKey, fingerprint("transfer", accountNumber, request), String.class,
+                    () -> accountService.transfer(accountNumber, request)));
             return ResponseEntity.ok().body("{\"message\": \"" + message + "\"}");
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/transfers/{transferId}")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getTransferStatus(@PathVariable String transferId) {
+        try {
+            TransferStatusResponse status = asyncTransferService.getStatus(transferId);
+            return ResponseEntity.ok(status);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/{accountNumber}/transfers/batch")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<?> transferBatch(@PathVariable String accountNumber,
+                                         @Valid @RequestBody BatchTransferRequest request) {
+        try {
+            BatchTransferResponse response = bankingMetrics.record("transfer_batch",
+                    () -> batchTransferService.transferBatch(accountNumber, request));
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -96,10 +187,113 @@ public class AccountController {
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> getTransactionHistory(@PathVariable String accountNumber) {
         try {
-            List<TransactionResponse> transactions = accountService.getTransactionHistory(accountNumber);
+            List<TransactionResponse> transactions = bankingMetrics.record("history", () -> accountService.getTransactionHistory(accountNumber));
             return ResponseEntity.ok(transactions);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    @GetMapping("/{accountNumber}/transactions/page")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getTransactionPage(@PathVariable String accountNumber,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "50") int size) {
+        try {
+            TransactionPageResponse page = bankingMetrics.record("history_page",
+                    () -> accountService.getTransactionPage(accountNumber, cursor, size));
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/{accountNumber}/transactions/stream")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<?> streamTransactionHistory(@PathVariable String accountNumber) {
+        Long accountId;
+        try {
+            accountId = accountService.getHistoryAccountId(accountNumber);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+        
+        // One JSON document per line, written as rows come off the database cursor
+        StreamingResponseBody body = outputStream -> accountService.streamTransactionHistory(accountId,
+                transaction -> writeLine(outputStream, transaction));
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    // Full history oldest first; pass the last id received as afterId to resume an interrupted export
+    @GetMapping("/{accountNumber}/transactions/export")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<?> exportTransactions(@PathVariable String accountNumber,
+                                                @RequestParam(defaultValue = "csv") String format,
+                                                @RequestParam(defaultValue = "false") boolean gzip,
+                                                @RequestParam(required = false) Long afterId) {
+        Long accountId;
+        StatementExportService.Format exportFormat;
+        try {
+            exportFormat = StatementExportService.Format.parse(format);
+            accountId = accountService.getHistoryAccountId(accountNumber);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+        
+        StreamingResponseBody body = outputStream ->
+                statementExportService.exportAccount(accountId, exportFormat, afterId, gzip, outputStream);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType(gzip)))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportFormat.fileName(accountNumber + "-transactions", gzip))
+                        .build().toString())
+                .body(body);
+    }
+    
+    @GetMapping("/{accountNumber}/statement")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getStatement(@PathVariable String accountNumber,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            StatementResponse statement = bankingMetrics.record("statement",
+                    () -> statementService.getStatement(accountNumber, from, to));
+            return ResponseEntity.ok(statement);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/{accountNumber}/statement/month-to-date")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getMonthToDateStatement(@PathVariable String accountNumber) {
+        try {
+            StatementResponse statement = bankingMetrics.record("statement",
+                    () -> statementService.getMonthToDate(accountNumber));
+            return ResponseEntity.ok(statement);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Identifies the request an Idempotency-Key was first used for
+    private static String fingerprint(String operation, String accountNumber, TransactionRequest request) {
+        return String.join("|", operation, accountNumber,
+                request.getAmount() != null ? request.getAmount().stripTrailingZeros().toPlainString() : "",
+                String.valueOf(request.getToAccountNumber()),
+                String.valueOf(request.getDescription()));
+    }
+}
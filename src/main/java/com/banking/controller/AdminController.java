@@ -1,14 +1,34 @@
 package com.banking.controller;
 
-import com.banking.dto.AccountResponse;
+import com.banking.dto.AccountPageResponse;
+import com.banking.dto.ContentionStatsResponse;
+import com.banking.dto.ExportResponse;
+import com.banking.dto.ShardStatsResponse;
+import com.banking.model.AccountStatus;
 import com.banking.service.AccountService;
+import com.banking.service.RetryingExecutor;
+import com.banking.service.ShardRebalancer;
+import com.banking.service.StatementExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -16,17 +36,149 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
     
+    private static final Pattern OPEN_RANGE = Pattern.compile("bytes=(\\d{1,18})-");
+    
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
     @Autowired
     private AccountService accountService;
     
+    @Autowired
+    private RetryingExecutor retryingExecutor;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+    
+    @Autowired
+    private StatementExportService statementExportService;
+    
+    // e.g. /api/admin/accounts?status=ACTIVE&page=0&size=50&sort=balance,desc
     @GetMapping("/accounts")
     @Hidden
-    public ResponseEntity<?> getAllAccounts() {
+    public ResponseEntity<?> getAllAccounts(@RequestParam(required = false) AccountStatus status,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "50") int size,
+                                            @SortDefault(sort = "id") Sort sort) {
         try {
-            List<AccountResponse> accounts = accountService.getAllAccounts();
+            AccountPageResponse accounts = accountService.getAccountPage(status, page, size, sort);
             return ResponseEntity.ok(accounts);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
+    
+    // Full export as NDJSON, written as rows come off the database cursor
+    @GetMapping("/accounts/export")
+    @Hidden
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@RequestParam(required = false) AccountStatus status) {
+        StreamingResponseBody body = outputStream -> accountService.streamAccounts(status, account -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(account));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    // Builds a file of every transaction on every shard; download it with GET /exports/{exportId}
+    @PostMapping("/exports/transactions")
+    @Hidden
+    public ResponseEntity<?> createTransactionExport(@RequestParam(defaultValue = "csv") String format,
+                                                     @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            ExportResponse export = statementExportService.createBulkExport(StatementExportService.Format.parse(format), gzip);
+            return ResponseEntity.ok(export);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    // Accepts "Range: bytes=N-" so an interrupted download continues where it stopped
+    @GetMapping("/exports/{exportId}")
+    @Hidden
+    public ResponseEntity<?> downloadExport(@PathVariable String exportId,
+                                            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                            HttpServletRequest request) {
+        StatementExportService.ExportFile export;
+        try {
+            export = statementExportService.getBulkExport(exportId);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+        
+        long size = export.getSize();
+        long start = 0;
+        Matcher openRange = range != null ? OPEN_RANGE.matcher(range.trim()) : null;
+        if (openRange != null && openRange.matches()) {
+            start = Long.parseLong(openRange.group(1));
+            if (start >= size) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(start > 0 ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(export.getContentType()))
+                .contentLength(size - start)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(export.getFileName())
+                        .build().toString());
+        if (start > 0) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (size - 1) + "/" + size);
+        }
+        
+        // Tomcat's NIO connector sends the file with sendfile once the handler returns, so no bytes pass through the JVM heap
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, export.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, size);
+            return response.build();
+        }
+        
+        long from = start;
+        StreamingResponseBody body = outputStream -> statementExportService.transferTo(export, from, outputStream);
+        return response.body(body);
+    }
+    
+    @GetMapping("/metrics/contention")
+    @Hidden
+    public ResponseEntity<?> getContentionStats() {
+        List<ContentionStatsResponse> stats = retryingExecutor.getStats();
+        return ResponseEntity.ok(stats);
+    }
+    
+    @GetMapping("/shards")
+    @Hidden
+    public ResponseEntity<?> getShardStats() {
+        try {
+            List<ShardStatsResponse> stats = shardRebalancer.getShardStats();
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/shards/accounts/{accountNumber}/move")
+    @Hidden
+    public ResponseEntity<?> moveAccount(@PathVariable String accountNumber, @RequestParam int targetShard) {
+        try {
+            String message = shardRebalancer.moveAccount(accountNumber, targetShard);
+            return ResponseEntity.ok().body("{\"message\": \"" + message + "\"}");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
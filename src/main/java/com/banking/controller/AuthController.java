@@ -3,12 +3,18 @@ package com.banking.controller;
 import com.banking.dto.JwtResponse;
 import com.banking.dto.LoginRequest;
 import com.banking.dto.RegisterRequest;
+import com.banking.exception.ServiceOverloadedException;
 import com.banking.service.AuthService;
+import com.banking.service.PasswordHashingExecutor;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/auth")
@@ -17,14 +23,23 @@ public class AuthController {
     @Autowired
     AuthService authService;
     
+    @Autowired
+    PasswordHashingExecutor passwordHashingExecutor;
+    
+    // BCrypt runs on the hashing pool; the request thread is released until it completes
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        try {
-            JwtResponse jwtResponse = authService.authenticateUser(loginRequest);
-            return ResponseEntity.ok(jwtResponse);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
-        }
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        return passwordHashingExecutor.submit(() -> authService.authenticateUser(loginRequest))
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof ServiceOverloadedException overloaded) {
+                        return ResponseEntity.status(overloaded.getStatus())
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(overloaded.getRetryAfterSeconds()))
+                                .body("Error: " + overloaded.getMessage());
+                    }
+                    return ResponseEntity.badRequest().body("Error: " + cause.getMessage());
+                });
     }
     
     @PostMapping("/signup")
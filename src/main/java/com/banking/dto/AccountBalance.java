@@ -0,0 +1,22 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+
+public class AccountBalance {
+    private Long accountId;
+    private BigDecimal balance;
+    
+    public AccountBalance() {}
+    
+    public AccountBalance(Long accountId, BigDecimal balance) {
+        this.accountId = accountId;
+        this.balance = balance;
+    }
+    
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+}
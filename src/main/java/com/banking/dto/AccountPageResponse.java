@@ -0,0 +1,37 @@
+package com.banking.dto;
+
+import java.util.List;
+
+public class AccountPageResponse {
+    private List<AccountResponse> accounts;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    
+    public AccountPageResponse() {}
+    
+    public AccountPageResponse(List<AccountResponse> accounts, int page, int size, long totalElements, int totalPages) {
+        this.accounts = accounts;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+    
+    // Getters and Setters
+    public List<AccountResponse> getAccounts() { return accounts; }
+    public void setAccounts(List<AccountResponse> accounts) { this.accounts = accounts; }
+    
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+    
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+}
@@ -0,0 +1,37 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+
+public class BatchTransferItemResult {
+    private int index;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private boolean success;
+    private String error;
+    
+    public BatchTransferItemResult() {}
+    
+    public BatchTransferItemResult(int index, String toAccountNumber, BigDecimal amount, boolean success, String error) {
+        this.index = index;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.success = success;
+        this.error = error;
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
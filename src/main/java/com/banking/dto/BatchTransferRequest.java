@@ -0,0 +1,30 @@
+package com.banking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BatchTransferRequest {
+    @NotEmpty
+    @Valid
+    private List<TransactionRequest> transfers;
+    
+    // ALL_OR_NOTHING rejects the whole batch on the first invalid item,
+    // BEST_EFFORT applies every item that can be applied
+    private Mode mode = Mode.ALL_OR_NOTHING;
+    
+    public enum Mode {
+        ALL_OR_NOTHING,
+        BEST_EFFORT
+    }
+    
+    public BatchTransferRequest() {}
+    
+    // Getters and Setters
+    public List<TransactionRequest> getTransfers() { return transfers; }
+    public void setTransfers(List<TransactionRequest> transfers) { this.transfers = transfers; }
+    
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+}
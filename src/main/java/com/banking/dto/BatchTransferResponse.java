@@ -0,0 +1,44 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class BatchTransferResponse {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private BigDecimal totalTransferred;
+    private BigDecimal balanceAfter;
+    private List<BatchTransferItemResult> results;
+    
+    public BatchTransferResponse() {}
+    
+    public BatchTransferResponse(int requested, int succeeded, int failed, BigDecimal totalTransferred,
+                                 BigDecimal balanceAfter, List<BatchTransferItemResult> results) {
+        this.requested = requested;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.totalTransferred = totalTransferred;
+        this.balanceAfter = balanceAfter;
+        this.results = results;
+    }
+    
+    // Getters and Setters
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+    
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public BigDecimal getTotalTransferred() { return totalTransferred; }
+    public void setTotalTransferred(BigDecimal totalTransferred) { this.totalTransferred = totalTransferred; }
+    
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+    
+    public List<BatchTransferItemResult> getResults() { return results; }
+    public void setResults(List<BatchTransferItemResult> results) { this.results = results; }
+}
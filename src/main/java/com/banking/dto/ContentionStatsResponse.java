@@ -0,0 +1,40 @@
+package com.banking.dto;
+
+public class ContentionStatsResponse {
+    private String accountNumber;
+    private long attempts;
+    private long conflicts;
+    private long retries;
+    private long exhausted;
+    private double conflictRate;
+    
+    public ContentionStatsResponse() {}
+    
+    public ContentionStatsResponse(String accountNumber, long attempts, long conflicts, long retries, long exhausted) {
+        this.accountNumber = accountNumber;
+        this.attempts = attempts;
+        this.conflicts = conflicts;
+        this.retries = retries;
+        this.exhausted = exhausted;
+        this.conflictRate = attempts == 0 ? 0.0 : (double) conflicts / attempts;
+    }
+    
+    // Getters and Setters
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    
+    public long getAttempts() { return attempts; }
+    public void setAttempts(long attempts) { this.attempts = attempts; }
+    
+    public long getConflicts() { return conflicts; }
+    public void setConflicts(long conflicts) { this.conflicts = conflicts; }
+    
+    public long getRetries() { return retries; }
+    public void setRetries(long retries) { this.retries = retries; }
+    
+    public long getExhausted() { return exhausted; }
+    public void setExhausted(long exhausted) { this.exhausted = exhausted; }
+    
+    public double getConflictRate() { return conflictRate; }
+    public void setConflictRate(double conflictRate) { this.conflictRate = conflictRate; }
+}
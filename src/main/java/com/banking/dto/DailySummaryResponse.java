@@ -0,0 +1,66 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class DailySummaryResponse {
+    private LocalDate date;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal deposits;
+    private BigDecimal withdrawals;
+    private BigDecimal transfersIn;
+    private BigDecimal transfersOut;
+    private int transfersInCount;
+    private int transfersOutCount;
+    private int transactionCount;
+    
+    public DailySummaryResponse() {}
+    
+    public DailySummaryResponse(LocalDate date, BigDecimal openingBalance, BigDecimal closingBalance,
+                                BigDecimal deposits, BigDecimal withdrawals, BigDecimal transfersIn,
+                                BigDecimal transfersOut, int transfersInCount, int transfersOutCount,
+                                int transactionCount) {
+        this.date = date;
+        this.openingBalance = openingBalance;
+        this.closingBalance = closingBalance;
+        this.deposits = deposits;
+        this.withdrawals = withdrawals;
+        this.transfersIn = transfersIn;
+        this.transfersOut = transfersOut;
+        this.transfersInCount = transfersInCount;
+        this.transfersOutCount = transfersOutCount;
+        this.transactionCount = transactionCount;
+    }
+    
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+    
+    public BigDecimal getClosingBalance() { return closingBalance; }
+    public void setClosingBalance(BigDecimal closingBalance) { this.closingBalance = closingBalance; }
+    
+    public BigDecimal getDeposits() { return deposits; }
+    public void setDeposits(BigDecimal deposits) { this.deposits = deposits; }
+    
+    public BigDecimal getWithdrawals() { return withdrawals; }
+    public void setWithdrawals(BigDecimal withdrawals) { this.withdrawals = withdrawals; }
+    
+    public BigDecimal getTransfersIn() { return transfersIn; }
+    public void setTransfersIn(BigDecimal transfersIn) { this.transfersIn = transfersIn; }
+    
+    public BigDecimal getTransfersOut() { return transfersOut; }
+    public void setTransfersOut(BigDecimal transfersOut) { this.transfersOut = transfersOut; }
+    
+    public int getTransfersInCount() { return transfersInCount; }
+    public void setTransfersInCount(int transfersInCount) { this.transfersInCount = transfersInCount; }
+    
+    public int getTransfersOutCount() { return transfersOutCount; }
+    public void setTransfersOutCount(int transfersOutCount) { this.transfersOutCount = transfersOutCount; }
+    
+    public int getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(int transactionCount) { this.transactionCount = transactionCount; }
+}
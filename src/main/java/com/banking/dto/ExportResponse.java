@@ -0,0 +1,43 @@
+package com.banking.dto;
+
+import java.time.LocalDateTime;
+
+public class ExportResponse {
+    private String exportId;
+    private String fileName;
+    private long rows;
+    private long sizeBytes;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    
+    public ExportResponse() {}
+    
+    public ExportResponse(String exportId, String fileName, long rows, long sizeBytes, LocalDateTime createdAt,
+                          LocalDateTime expiresAt) {
+        this.exportId = exportId;
+        this.fileName = fileName;
+        this.rows = rows;
+        this.sizeBytes = sizeBytes;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getExportId() { return exportId; }
+    public void setExportId(String exportId) { this.exportId = exportId; }
+    
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+    
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,68 @@
+package com.banking.dto;
+
+import com.banking.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class LedgerEvent {
+    private Long eventId;
+    private String accountNumber;
+    // Per-account position, increasing in commit order; consumers deduplicate and order on it
+    private long sequence;
+    private Long transactionId;
+    private TransactionType type;
+    private BigDecimal amount;
+    private BigDecimal balanceAfter;
+    private String counterpartyAccountNumber;
+    private String description;
+    private LocalDateTime occurredAt;
+    
+    public LedgerEvent() {}
+    
+    public LedgerEvent(Long eventId, String accountNumber, long sequence, Long transactionId, TransactionType type,
+                       BigDecimal amount, BigDecimal balanceAfter, String counterpartyAccountNumber, String description,
+                       LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.accountNumber = accountNumber;
+        this.sequence = sequence;
+        this.transactionId = transactionId;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.counterpartyAccountNumber = counterpartyAccountNumber;
+        this.description = description;
+        this.occurredAt = occurredAt;
+    }
+    
+    // Getters and Setters
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+    
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+    
+    public String getCounterpartyAccountNumber() { return counterpartyAccountNumber; }
+    public void setCounterpartyAccountNumber(String counterpartyAccountNumber) { this.counterpartyAccountNumber = counterpartyAccountNumber; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,25 @@
+package com.banking.dto;
+
+public class ShardStatsResponse {
+    private int shard;
+    private long accounts;
+    private long transactions;
+    
+    public ShardStatsResponse() {}
+    
+    public ShardStatsResponse(int shard, long accounts, long transactions) {
+        this.shard = shard;
+        this.accounts = accounts;
+        this.transactions = transactions;
+    }
+    
+    // Getters and Setters
+    public int getShard() { return shard; }
+    public void setShard(int shard) { this.shard = shard; }
+    
+    public long getAccounts() { return accounts; }
+    public void setAccounts(long accounts) { this.accounts = accounts; }
+    
+    public long getTransactions() { return transactions; }
+    public void setTransactions(long transactions) { this.transactions = transactions; }
+}
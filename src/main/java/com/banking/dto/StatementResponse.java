@@ -0,0 +1,88 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class StatementResponse {
+    private String accountNumber;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal deposits;
+    private BigDecimal withdrawals;
+    private BigDecimal transfersIn;
+    private BigDecimal transfersOut;
+    private int transfersInCount;
+    private int transfersOutCount;
+    private int transactionCount;
+    private List<DailySummaryResponse> days;
+    
+    public StatementResponse() {}
+    
+    public StatementResponse(String accountNumber, LocalDate fromDate, LocalDate toDate, BigDecimal openingBalance,
+                             BigDecimal closingBalance, List<DailySummaryResponse> days) {
+        this.accountNumber = accountNumber;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.openingBalance = openingBalance;
+        this.closingBalance = closingBalance;
+        this.days = days;
+        
+        // Range totals are the sum of the days with activity
+        this.deposits = BigDecimal.ZERO;
+        this.withdrawals = BigDecimal.ZERO;
+        this.transfersIn = BigDecimal.ZERO;
+        this.transfersOut = BigDecimal.ZERO;
+        for (DailySummaryResponse day : days) {
+            this.deposits = this.deposits.add(day.getDeposits());
+            this.withdrawals = this.withdrawals.add(day.getWithdrawals());
+            this.transfersIn = this.transfersIn.add(day.getTransfersIn());
+            this.transfersOut = this.transfersOut.add(day.getTransfersOut());
+            this.transfersInCount += day.getTransfersInCount();
+            this.transfersOutCount += day.getTransfersOutCount();
+            this.transactionCount += day.getTransactionCount();
+        }
+    }
+    
+    // Getters and Setters
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+    
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+    
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+    
+    public BigDecimal getClosingBalance() { return closingBalance; }
+    public void setClosingBalance(BigDecimal closingBalance) { this.closingBalance = closingBalance; }
+    
+    public BigDecimal getDeposits() { return deposits; }
+    public void setDeposits(BigDecimal deposits) { this.deposits = deposits; }
+    
+    public BigDecimal getWithdrawals() { return withdrawals; }
+    public void setWithdrawals(BigDecimal withdrawals) { this.withdrawals = withdrawals; }
+    
+    public BigDecimal getTransfersIn() { return transfersIn; }
+    public void setTransfersIn(BigDecimal transfersIn) { this.transfersIn = transfersIn; }
+    
+    public BigDecimal getTransfersOut() { return transfersOut; }
+    public void setTransfersOut(BigDecimal transfersOut) { this.transfersOut = transfersOut; }
+    
+    public int getTransfersInCount() { return transfersInCount; }
+    public void setTransfersInCount(int transfersInCount) { this.transfersInCount = transfersInCount; }
+    
+    public int getTransfersOutCount() { return transfersOutCount; }
+    public void setTransfersOutCount(int transfersOutCount) { this.transfersOutCount = transfersOutCount; }
+    
+    public int getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(int transactionCount) { this.transactionCount = transactionCount; }
+    
+    public List<DailySummaryResponse> getDays() { return days; }
+    public void setDays(List<DailySummaryResponse> days) { this.days = days; }
+}
@@ -0,0 +1,62 @@
+package com.banking.dto;
+
+import com.banking.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class TransactionExportRow {
+    private Long id;
+    private String accountNumber;
+    private LocalDateTime transactionDate;
+    private TransactionType type;
+    private BigDecimal amount;
+    private BigDecimal balanceAfter;
+    private String toAccountNumber;
+    private String fromAccountNumber;
+    private String description;
+    
+    public TransactionExportRow() {}
+    
+    public TransactionExportRow(Long id, String accountNumber, LocalDateTime transactionDate, TransactionType type,
+                                BigDecimal amount, BigDecimal balanceAfter, String toAccountNumber,
+                                String fromAccountNumber, String description) {
+        this.id = id;
+        this.accountNumber = accountNumber;
+        this.transactionDate = transactionDate;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.toAccountNumber = toAccountNumber;
+        this.fromAccountNumber = fromAccountNumber;
+        this.description = description;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
+    
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+    
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+    
+    public String getFromAccountNumber() { return fromAccountNumber; }
+    public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
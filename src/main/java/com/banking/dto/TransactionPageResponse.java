@@ -0,0 +1,27 @@
+package com.banking.dto;
+
+import java.util.List;
+
+public class TransactionPageResponse {
+    private List<TransactionResponse> transactions;
+    private String nextCursor;
+    private boolean hasMore;
+    
+    public TransactionPageResponse() {}
+    
+    public TransactionPageResponse(List<TransactionResponse> transactions, String nextCursor, boolean hasMore) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters and Setters
+    public List<TransactionResponse> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionResponse> transactions) { this.transactions = transactions; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
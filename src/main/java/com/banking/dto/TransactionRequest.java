@@ -1,15 +1,19 @@
 package com.banking.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 
 public class TransactionRequest {
     @NotNull
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 13, fraction = 2, message = "Amount must have at most 13 digits and 2 decimals")
     private BigDecimal amount;
     
+    @Size(max = 500, message = "Description must be at most 500 characters")
     private String description;
     
     // For transfer operations
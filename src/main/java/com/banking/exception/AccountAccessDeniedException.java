@@ -0,0 +1,11 @@
+package com.banking.exception;
+
+/**
+ * Thrown when the current user may not read or debit the account they named.
+ */
+public class AccountAccessDeniedException extends RuntimeException {
+
+    public AccountAccessDeniedException(String message) {
+        super(message);
+    }
+}
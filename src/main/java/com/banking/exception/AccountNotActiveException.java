@@ -0,0 +1,11 @@
+package com.banking.exception;
+
+/**
+ * Thrown when a posting names an account that is frozen or closed.
+ */
+public class AccountNotActiveException extends RuntimeException {
+
+    public AccountNotActiveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.exception;
+
+/**
+ * Thrown when a debit would take an account below zero.
+ */
+public class InsufficientBalanceException extends RuntimeException {
+
+    public InsufficientBalanceException(String message) {
+        super(message);
+    }
+}
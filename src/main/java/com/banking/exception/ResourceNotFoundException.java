@@ -0,0 +1,11 @@
+package com.banking.exception;
+
+/**
+ * Thrown when an account, transfer or export named by the caller does not exist.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
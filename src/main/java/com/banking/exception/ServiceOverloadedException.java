@@ -0,0 +1,27 @@
+package com.banking.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a bounded resource refuses work instead of queueing it, so the
+ * caller can answer fast with 429 or 503 and a Retry-After hint.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,9 +1,13 @@
 package com.banking.model;
 
+import com.banking.service.AccountChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,6 +16,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "accounts")
+@EntityListeners(AccountChangeListener.class)
 public class Account {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,11 +32,17 @@ public class Account {
     private BigDecimal balance = BigDecimal.ZERO;
     
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private AccountType accountType;
     
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private AccountStatus status = AccountStatus.ACTIVE;
     
+    @Version
+    @ColumnDefault("0")
+    private Long version = 0L;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -76,6 +87,9 @@ public class Account {
     public AccountStatus getStatus() { return status; }
     public void setStatus(AccountStatus status) { this.status = status; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
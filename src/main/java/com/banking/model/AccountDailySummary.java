@@ -0,0 +1,164 @@
+package com.banking.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Read model of one account's activity on one day, folded in from the
+ * transaction rows as they are written (see DailySummaryProjector). The
+ * opening balance is the closing balance less the day's net movement.
+ * Ledger postings can be persisted out of order, so the closing balance comes
+ * from the posting with the highest ledger sequence seen for the day.
+ */
+@Entity
+@Table(name = "account_daily_summaries")
+@IdClass(AccountDailySummary.Key.class)
+public class AccountDailySummary {
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "business_date")
+    private LocalDate businessDate;
+
+    @Column(name = "opening_balance", precision = 15, scale = 2, nullable = false)
+    private BigDecimal openingBalance;
+
+    @Column(name = "closing_balance", precision = 15, scale = 2, nullable = false)
+    private BigDecimal closingBalance;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal deposits = BigDecimal.ZERO;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal withdrawals = BigDecimal.ZERO;
+
+    @Column(name = "transfers_in", precision = 15, scale = 2, nullable = false)
+    private BigDecimal transfersIn = BigDecimal.ZERO;
+
+    @Column(name = "transfers_out", precision = 15, scale = 2, nullable = false)
+    private BigDecimal transfersOut = BigDecimal.ZERO;
+
+    @Column(name = "transfers_in_count", nullable = false)
+    private int transfersInCount;
+
+    @Column(name = "transfers_out_count", nullable = false)
+    private int transfersOutCount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private int transactionCount;
+
+    // Ledger sequence of the posting that set the closing balance; NULL for unsequenced rows
+    @Column(name = "closing_sequence")
+    private Long closingSequence;
+
+    @Version
+    private Long version;
+
+    public AccountDailySummary() {}
+
+    public AccountDailySummary(Long accountId, LocalDate businessDate) {
+        this.accountId = accountId;
+        this.businessDate = businessDate;
+    }
+
+    // Unsequenced rows are applied in commit order and always set the closing balance;
+    // a sequenced posting only does if it is newer than the one that set it last
+    public void apply(TransactionType type, BigDecimal amount, BigDecimal balanceAfter, Long sequence) {
+        switch (type) {
+            case DEPOSIT -> deposits = deposits.add(amount);
+            case WITHDRAWAL -> withdrawals = withdrawals.add(amount);
+            case TRANSFER_IN -> {
+                transfersIn = transfersIn.add(amount);
+                transfersInCount++;
+            }
+            case TRANSFER_OUT -> {
+                transfersOut = transfersOut.add(amount);
+                transfersOutCount++;
+            }
+        }
+        transactionCount++;
+        if (sequence == null || closingSequence == null || sequence > closingSequence) {
+            closingBalance = balanceAfter;
+            closingSequence = sequence;
+        }
+        openingBalance = closingBalance.subtract(getNetChange());
+    }
+
+    public BigDecimal getNetChange() {
+        return deposits.add(transfersIn).subtract(withdrawals).subtract(transfersOut);
+    }
+
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public LocalDate getBusinessDate() { return businessDate; }
+    public void setBusinessDate(LocalDate businessDate) { this.businessDate = businessDate; }
+
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+
+    public BigDecimal getClosingBalance() { return closingBalance; }
+    public void setClosingBalance(BigDecimal closingBalance) { this.closingBalance = closingBalance; }
+
+    public BigDecimal getDeposits() { return deposits; }
+    public void setDeposits(BigDecimal deposits) { this.deposits = deposits; }
+
+    public BigDecimal getWithdrawals() { return withdrawals; }
+    public void setWithdrawals(BigDecimal withdrawals) { this.withdrawals = withdrawals; }
+
+    public BigDecimal getTransfersIn() { return transfersIn; }
+    public void setTransfersIn(BigDecimal transfersIn) { this.transfersIn = transfersIn; }
+
+    public BigDecimal getTransfersOut() { return transfersOut; }
+    public void setTransfersOut(BigDecimal transfersOut) { this.transfersOut = transfersOut; }
+
+    public int getTransfersInCount() { return transfersInCount; }
+    public void setTransfersInCount(int transfersInCount) { this.transfersInCount = transfersInCount; }
+
+    public int getTransfersOutCount() { return transfersOutCount; }
+    public void setTransfersOutCount(int transfersOutCount) { this.transfersOutCount = transfersOutCount; }
+
+    public int getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(int transactionCount) { this.transactionCount = transactionCount; }
+
+    public Long getClosingSequence() { return closingSequence; }
+    public void setClosingSequence(Long closingSequence) { this.closingSequence = closingSequence; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate businessDate;
+
+        public Key() {}
+
+        public Key(Long accountId, LocalDate businessDate) {
+            this.accountId = accountId;
+            this.businessDate = businessDate;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(accountId, key.accountId) && Objects.equals(businessDate, key.businessDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, businessDate);
+        }
+    }
+}
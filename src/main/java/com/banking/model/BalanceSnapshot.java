@@ -0,0 +1,58 @@
+package com.banking.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of an account after the journal entry with the given sequence number.
+ * Written by the event-sourced ledger every N entries and never updated.
+ */
+@Entity
+@Table(name = "balance_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_balance_snapshots_account_sequence", columnNames = {"account_id", "ledger_sequence"})
+})
+public class BalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(name = "ledger_sequence", nullable = false)
+    private Long sequence;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal balance;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public BalanceSnapshot() {}
+
+    public BalanceSnapshot(Account account, Long sequence, BigDecimal balance) {
+        this.account = account;
+        this.sequence = sequence;
+        this.balance = balance;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Account getAccount() { return account; }
+    public void setAccount(Account account) { this.account = account; }
+
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,92 @@
+package com.banking.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saga record of a transfer between accounts on different shards. The source
+ * shard's row is written with the debit and tracks the outcome; the
+ * destination shard gets a row with the same id in the credit's transaction,
+ * which is how a retried or recovered credit knows it already happened.
+ */
+@Entity
+@Table(name = "cross_shard_transfers", indexes = {
+        @Index(name = "idx_cross_shard_transfers_state", columnList = "state, updated_at")
+})
+public class CrossShardTransfer {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "from_account_number", length = 20, nullable = false)
+    private String fromAccountNumber;
+
+    @Column(name = "to_account_number", length = 20, nullable = false)
+    private String toAccountNumber;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20, nullable = false)
+    private State state;
+
+    // Recovery and the request thread may both try to finish a saga; only one state change wins
+    @Version
+    private Long version;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum State {
+        DEBITED, CREDITED, COMPLETED, COMPENSATED
+    }
+
+    public CrossShardTransfer() {}
+
+    public CrossShardTransfer(String id, String fromAccountNumber, String toAccountNumber, BigDecimal amount, State state) {
+        this.id = id;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.state = state;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFromAccountNumber() { return fromAccountNumber; }
+    public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
+
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public State getState() { return state; }
+    public void setState(State state) {
+        this.state = state;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
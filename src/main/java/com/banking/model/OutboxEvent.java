@@ -0,0 +1,107 @@
+package com.banking.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ledger posting waiting to be published, written in the same database
+ * transaction as its {@link Transaction} row (see OutboxWriter) and deleted
+ * by the relay once the sink has accepted it. Ids come from pooled blocks of
+ * 50 per instance and are assigned before commit, so they are not commit
+ * order; accountSequence is, per account (see OutboxWriter).
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    // Pooled sequence ids keep the extra insert per transaction batchable
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "account_number", length = 20, nullable = false)
+    private String accountNumber;
+
+    @Column(name = "account_sequence", nullable = false)
+    private long accountSequence;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20, nullable = false)
+    private TransactionType type;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "balance_after", precision = 15, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "counterparty_account_number", length = 20)
+    private String counterpartyAccountNumber;
+
+    @Column(length = 500)
+    private String description;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(Transaction transaction) {
+        this.accountNumber = transaction.getAccount().getAccountNumber();
+        this.transactionId = transaction.getId();
+        this.type = transaction.getType();
+        this.amount = transaction.getAmount();
+        this.balanceAfter = transaction.getBalanceAfter();
+        this.counterpartyAccountNumber = transaction.getType() == TransactionType.TRANSFER_OUT
+                ? transaction.getToAccountNumber()
+                : transaction.getFromAccountNumber();
+        this.description = transaction.getDescription();
+        this.occurredAt = transaction.getTransactionDate();
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+
+    public long getAccountSequence() { return accountSequence; }
+    public void setAccountSequence(long accountSequence) { this.accountSequence = accountSequence; }
+
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+
+    public String getCounterpartyAccountNumber() { return counterpartyAccountNumber; }
+    public void setCounterpartyAccountNumber(String counterpartyAccountNumber) { this.counterpartyAccountNumber = counterpartyAccountNumber; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -1,17 +1,28 @@
 package com.banking.model;
 
+import com.banking.service.TransactionInsertListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_account_date", columnList = "account_id, transaction_date DESC, id DESC"),
+        @Index(name = "idx_transactions_account_type_date", columnList = "account_id, type, transaction_date")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transactions_account_sequence", columnNames = {"account_id", "ledger_sequence"})
+})
+@EntityListeners(TransactionInsertListener.class)
 public class Transaction {
+    // Pooled sequence ids let Hibernate batch inserts, which IDENTITY columns prevent
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
@@ -20,6 +31,7 @@ public class Transaction {
     private BigDecimal amount;
     
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private TransactionType type;
     
     @Column(length = 500)
@@ -42,6 +54,10 @@ public class Transaction {
     @Column(name = "from_account_number")
     private String fromAccountNumber;
     
+    // Position in the account's journal when written by the event-sourced ledger, null otherwise
+    @Column(name = "ledger_sequence")
+    private Long sequence;
+    
     public Transaction() {}
     
     public Transaction(BigDecimal amount, TransactionType type, String description, Account account, BigDecimal balanceAfter) {
@@ -80,4 +96,7 @@ public class Transaction {
     
     public String getFromAccountNumber() { return fromAccountNumber; }
     public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
-}
\ No newline at end of file
+    
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+}
@@ -0,0 +1,22 @@
+package com.banking.repository;
+
+import com.banking.model.AccountDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountDailySummaryRepository extends JpaRepository<AccountDailySummary, AccountDailySummary.Key> {
+    List<AccountDailySummary> findByAccountIdAndBusinessDateBetweenOrderByBusinessDateAsc(Long accountId, LocalDate from, LocalDate to);
+
+    // Nearest active day before a range, whose closing balance is the range's opening balance
+    Optional<AccountDailySummary> findFirstByAccountIdAndBusinessDateLessThanOrderByBusinessDateDesc(Long accountId, LocalDate date);
+
+    Optional<AccountDailySummary> findFirstByAccountIdAndBusinessDateGreaterThanOrderByBusinessDateAsc(Long accountId, LocalDate date);
+
+    List<AccountDailySummary> findByAccountIdInAndBusinessDate(Collection<Long> accountIds, LocalDate businessDate);
+}
@@ -1,17 +1,89 @@
 package com.banking.repository;
 
+import com.banking.dto.AccountResponse;
 import com.banking.model.Account;
 import com.banking.model.AccountStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
     Optional<Account> findByUserId(Long userId);
     List<Account> findByStatus(AccountStatus status);
+    
+    // Admin listing as a DTO projection: accounts and owners in one SELECT, no entities loaded.
+    // A null status matches every account.
+    @Query(value = "SELECT new com.banking.dto.AccountResponse(a.id, a.accountNumber, a.balance, a.accountType, a.status, " +
+                   "CONCAT(u.firstName, ' ', u.lastName), a.createdAt) " +
+                   "FROM Account a JOIN a.user u WHERE (:status IS NULL OR a.status = :status)",
+           countQuery = "SELECT COUNT(a) FROM Account a WHERE (:status IS NULL OR a.status = :status)")
+    Page<AccountResponse> findByStatus(@Param("status") AccountStatus status, Pageable pageable);
+    
+    // Must be consumed inside a transaction; rows are fetched from a cursor in chunks
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.banking.dto.AccountResponse(a.id, a.accountNumber, a.balance, a.accountType, a.status, " +
+           "CONCAT(u.firstName, ' ', u.lastName), a.createdAt) " +
+           "FROM Account a JOIN a.user u WHERE (:status IS NULL OR a.status = :status) ORDER BY a.id")
+    Stream<AccountResponse> streamByStatus(@Param("status") AccountStatus status);
+    
     boolean existsByAccountNumber(String accountNumber);
+    
+    // Loads the owner in the same statement, for building AccountResponse
+    @Query("SELECT a FROM Account a JOIN FETCH a.user WHERE a.accountNumber = :accountNumber")
+    Optional<Account> findWithUserByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.user.id = :userId")
+    Optional<String> findAccountNumberByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    // SELECT ... FOR UPDATE; callers bound the lock wait with LockWaitTimeout first
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<Long> findIdsByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+    
+    // Locks every row in a single statement, in ascending id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // Accounts the event-sourced ledger has no snapshot for yet
+    @Query("SELECT a FROM Account a WHERE NOT EXISTS (SELECT s.id FROM BalanceSnapshot s WHERE s.account = a)")
+    List<Account> findWithoutBalanceSnapshot();
+    
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = :balance, a.version = a.version + 1, a.updatedAt = CURRENT_TIMESTAMP WHERE a.id = :id")
+    int updateBalance(@Param("id") Long id, @Param("balance") BigDecimal balance);
+    
+    // Outbox event counter, not mapped on Account so entity updates never write it back. The row lock
+    // this takes until commit is what puts an account's event sequences in commit order.
+    @Modifying
+    @Query(value = "UPDATE accounts SET event_sequence = event_sequence + :count WHERE id = :id", nativeQuery = true)
+    int advanceEventSequence(@Param("id") Long id, @Param("count") long count);
+    
+    @Query(value = "SELECT event_sequence FROM accounts WHERE id = :id", nativeQuery = true)
+    long findEventSequence(@Param("id") Long id);
 }
\ No newline at end of file
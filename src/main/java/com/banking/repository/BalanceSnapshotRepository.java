@@ -0,0 +1,31 @@
+package com.banking.repository;
+
+import com.banking.dto.AccountBalance;
+import com.banking.model.BalanceSnapshot;
+import com.banking.model.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+    Optional<BalanceSnapshot> findFirstByAccountIdOrderBySequenceDesc(Long accountId);
+
+    @Query("SELECT DISTINCT s.account.id FROM BalanceSnapshot s")
+    List<Long> findAccountIds();
+
+    // Replay for many accounts in one statement: each latest snapshot plus the signed sum of the
+    // entries after it. Accounts without a snapshot are left out.
+    @Query("SELECT new com.banking.dto.AccountBalance(s.account.id, s.balance + COALESCE(" +
+           "(SELECT SUM(CASE WHEN t.type IN :credits THEN t.amount ELSE -t.amount END) FROM Transaction t " +
+           "WHERE t.account.id = s.account.id AND t.sequence > s.sequence), 0)) " +
+           "FROM BalanceSnapshot s WHERE s.account.id IN :accountIds AND s.sequence = " +
+           "(SELECT MAX(latest.sequence) FROM BalanceSnapshot latest WHERE latest.account.id = s.account.id)")
+    List<AccountBalance> findJournalBalances(@Param("accountIds") Collection<Long> accountIds,
+                                             @Param("credits") Collection<TransactionType> credits);
+}
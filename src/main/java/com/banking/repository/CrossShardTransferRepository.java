@@ -0,0 +1,15 @@
+package com.banking.repository;
+
+import com.banking.model.CrossShardTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CrossShardTransferRepository extends JpaRepository<CrossShardTransfer, String> {
+    List<CrossShardTransfer> findByStateAndUpdatedAtBefore(CrossShardTransfer.State state, LocalDateTime cutoff);
+    
+    long countByFromAccountNumberAndState(String fromAccountNumber, CrossShardTransfer.State state);
+}
@@ -0,0 +1,22 @@
+package com.banking.repository;
+
+import com.banking.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Lowest account sequences first, so each account's events in a batch are the earliest it has pending.
+    // Locked so a relay on another instance waits instead of publishing them too.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.accountSequence, e.id")
+    List<OutboxEvent> findOldestForUpdate(Pageable pageable);
+
+    long countByAccountNumber(String accountNumber);
+}
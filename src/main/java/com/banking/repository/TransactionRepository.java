@@ -1,16 +1,21 @@
 package com.banking.repository;
 
+import com.banking.dto.TransactionExportRow;
 import com.banking.model.Transaction;
 import com.banking.model.TransactionType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -23,4 +28,66 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                   @Param("endDate") LocalDateTime endDate);
     
     List<Transaction> findByAccountIdAndType(Long accountId, TransactionType type);
+    
+    // Keyset pagination on (transaction_date, id), newest first; pass PageRequest.of(0, limit)
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findFirstPageByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+           "AND (t.transactionDate < :transactionDate OR (t.transactionDate = :transactionDate AND t.id < :id)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByAccountIdAfter(@Param("accountId") Long accountId,
+                                               @Param("transactionDate") LocalDateTime transactionDate,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+    
+    // Must be consumed inside a transaction; rows are fetched from a cursor in chunks
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<Transaction> streamByAccountId(@Param("accountId") Long accountId);
+    
+    // Export rows oldest first by id, projected so nothing accumulates in the persistence context.
+    // Ids survive shard moves, so the last exported id resumes an account's export
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.banking.dto.TransactionExportRow(t.id, a.accountNumber, t.transactionDate, t.type, " +
+           "t.amount, t.balanceAfter, t.toAccountNumber, t.fromAccountNumber, t.description) " +
+           "FROM Transaction t JOIN t.account a WHERE a.id = :accountId AND t.id > :afterId ORDER BY t.id")
+    Stream<TransactionExportRow> streamExportByAccountId(@Param("accountId") Long accountId, @Param("afterId") Long afterId);
+    
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.banking.dto.TransactionExportRow(t.id, a.accountNumber, t.transactionDate, t.type, " +
+           "t.amount, t.balanceAfter, t.toAccountNumber, t.fromAccountNumber, t.description) " +
+           "FROM Transaction t JOIN t.account a ORDER BY t.id")
+    Stream<TransactionExportRow> streamExport();
+    
+    // Journal entries written after a snapshot, oldest first
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId AND t.sequence > :sequence ORDER BY t.sequence ASC")
+    List<Transaction> findJournalAfter(@Param("accountId") Long accountId, @Param("sequence") Long sequence);
+    
+    @Query("SELECT t.sequence FROM Transaction t WHERE t.account.id = :accountId AND t.sequence >= :sequence")
+    List<Long> findSequencesFrom(@Param("accountId") Long accountId, @Param("sequence") Long sequence);
+    
+    @Query("SELECT MAX(t.sequence) FROM Transaction t WHERE t.account.id = :accountId")
+    Long findMaxSequence(@Param("accountId") Long accountId);
+    
+    Optional<Transaction> findByAccountIdAndSequence(Long accountId, Long sequence);
+    
+    Optional<Transaction> findFirstByAccountIdOrderByIdDesc(Long accountId);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.id IN (SELECT MAX(t2.id) FROM Transaction t2 GROUP BY t2.account.id)")
+    List<Transaction> findLatestPerAccount();
+    
+    // Highest ledger sequence per account, which is the latest posting even when rows were inserted out of order
+    @Query("SELECT t FROM Transaction t WHERE t.sequence IS NOT NULL AND t.sequence = " +
+           "(SELECT MAX(t2.sequence) FROM Transaction t2 WHERE t2.account.id = t.account.id)")
+    List<Transaction> findLatestSequencedPerAccount();
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.banking.security;
+
+import com.banking.service.UserDetailsServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, time-limited cache of authenticated principals in front of
+ * {@link UserDetailsServiceImpl}, so a valid token does not cost a users
+ * SELECT on every request. Entries are evicted when the user row changes,
+ * and a load that overlapped an eviction is not kept, so a row read before
+ * a change committed can never be cached after it.
+ */
+@Component
+public class PrincipalCache {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Value("${jwt.principal-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${jwt.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, UserDetails> cache;
+
+    // Bumped before every eviction; a load that saw another value may have read the old row
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public UserDetails loadUserByUsername(String username) {
+        if (!enabled) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+
+        // Load outside the cache's compute lock so the JDBC call never pins a virtual thread
+        UserDetails cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        cache.put(username, userDetails);
+        // An eviction after the put has invalidated it already; one during the load is caught here
+        if (generation.get() != loadedAt) {
+            cache.asMap().remove(username, userDetails);
+        }
+        return userDetails;
+    }
+
+    public void evict(String username) {
+        // Evict again after commit so a concurrent request cannot re-cache the old row
+        generation.incrementAndGet();
+        cache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                    cache.invalidate(username);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,75 @@
+package com.banking.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies {@link RateLimiter} to authenticated requests, after
+ * {@link AuthTokenFilter} has resolved the user and before any handler
+ * touches the database. GETs count as reads; everything else counts as a
+ * write, and deposits, withdrawals and transfers also draw on the account's
+ * bucket. Unauthenticated requests pass through untouched.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    // Money-moving endpoints of AccountController
+    private static final Pattern ACCOUNT_WRITE = Pattern.compile("^/api/account/([^/]+)/(deposit|withdraw|transfer|transfers/batch)$");
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails userDetails)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+        String accountNumber = null;
+        if (write) {
+            Matcher accountWrite = ACCOUNT_WRITE.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+            if (accountWrite.matches()) {
+                accountNumber = accountWrite.group(1);
+            }
+        }
+        
+        long retryAfterSeconds = rateLimiter.tryAcquire(userDetails.getUsername(), write, accountNumber);
+        if (retryAfterSeconds > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of("error", "Too many requests, please retry later"));
+            return;
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+}
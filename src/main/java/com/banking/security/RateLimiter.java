@@ -0,0 +1,138 @@
+package com.banking.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per user for reads and writes, and per account for writes.
+ * Each bucket is a single AtomicLong holding the time at which it will be
+ * full again (the GCRA form of a token bucket), so taking a token is one
+ * compare-and-set and never blocks. Buckets live in a size-bounded cache and
+ * are dropped after idle-seconds; a bucket idle that long would be full
+ * anyway, so memory stays flat without loosening any limit.
+ */
+@Component
+public class RateLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.rate-limit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.rate-limit.max-buckets:500000}")
+    private long maxBuckets;
+
+    @Value("${banking.rate-limit.idle-seconds:600}")
+    private long idleSeconds;
+
+    @Value("${banking.rate-limit.reads.per-second:50}")
+    private double readsPerSecond;
+
+    @Value("${banking.rate-limit.reads.burst:100}")
+    private int readBurst;
+
+    @Value("${banking.rate-limit.writes.per-second:10}")
+    private double writesPerSecond;
+
+    @Value("${banking.rate-limit.writes.burst:20}")
+    private int writeBurst;
+
+    @Value("${banking.rate-limit.account-writes.per-second:5}")
+    private double accountWritesPerSecond;
+
+    @Value("${banking.rate-limit.account-writes.burst:10}")
+    private int accountWriteBurst;
+
+    private Cache<String, AtomicLong> buckets;
+
+    private Limit reads;
+    private Limit writes;
+    private Limit accountWrites;
+
+    @PostConstruct
+    public void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+
+        reads = new Limit("user_reads", readsPerSecond, readBurst);
+        writes = new Limit("user_writes", writesPerSecond, writeBurst);
+        accountWrites = new Limit("account_writes", accountWritesPerSecond, accountWriteBurst);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token for the request and returns 0, or returns the seconds
+     * until the exhausted bucket has one again. The account number is only
+     * given for money-moving requests; a request the account bucket rejects
+     * gives its user token back.
+     */
+    public long tryAcquire(String username, boolean write, String accountNumber) {
+        long now = System.nanoTime();
+        String userKey = write ? "w:" + username : "r:" + username;
+        Limit userLimit = write ? writes : reads;
+        long waitNanos = acquire(userKey, userLimit, now);
+        if (waitNanos == 0 && accountNumber != null) {
+            waitNanos = acquire("a:" + accountNumber, accountWrites, now);
+            if (waitNanos > 0) {
+                refund(userKey, userLimit);
+            }
+        }
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    private long acquire(String key, Limit limit, long now) {
+        AtomicLong fullAt = buckets.get(key, ignored -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            // The bucket is empty once it would take longer than a full burst to refill
+            long excess = base - now - limit.toleranceNanos;
+            if (excess > 0) {
+                limit.rejected.increment();
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, base + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Moving full-at back one interval returns the token; a bucket already refilled past now stays full
+    private void refund(String key, Limit limit) {
+        AtomicLong fullAt = buckets.getIfPresent(key);
+        if (fullAt != null) {
+            fullAt.addAndGet(-limit.intervalNanos);
+        }
+    }
+
+    private final class Limit {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final Counter rejected;
+
+        Limit(String name, double perSecond, int burst) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+            this.rejected = Counter.builder("banking.rate_limit.rejected")
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+        }
+    }
+}
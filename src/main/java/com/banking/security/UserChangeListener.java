@@ -0,0 +1,26 @@
+package com.banking.security;
+
+import com.banking.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that drops cached principals whenever a user row is updated
+ * or deleted, e.g. when its enabled flag or role changes.
+ */
+@Component
+public class UserChangeListener {
+
+    @Autowired
+    @Lazy
+    private PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        principalCache.evict(user.getUsername());
+    }
+}
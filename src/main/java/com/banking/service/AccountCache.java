@@ -0,0 +1,119 @@
+package com.banking.service;
+
+import com.banking.dto.AccountResponse;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded W-TinyLFU cache of {@link AccountResponse} keyed by account number,
+ * with a user id to account number index for "my account" lookups. Committed
+ * balance and status changes are applied to cached entries by
+ * {@link AccountChangeListener}; the account version keeps an older commit from
+ * overwriting a newer one. Hit, miss and eviction counts are published under
+ * the cache name "account.responses".
+ *
+ * Off by default: entries are only updated by commits of this instance, so
+ * it is safe only with a single writer. With several instances, or anything
+ * else updating accounts, a cached balance stays stale until its TTL expires.
+ */
+@Component
+public class AccountCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.account-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.account-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${banking.account-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, CachedAccount> accounts;
+
+    // Account numbers never change, so this index needs no invalidation
+    private Cache<Long, String> accountNumbersByUser;
+
+    @PostConstruct
+    public void init() {
+        accounts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        accountNumbersByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, "account.responses");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountNumbersByUser, "account.numbers-by-user");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The loader runs inside the cache's per-key compute, so a commit for the same
+    // account waits for it and then applies on top of whatever it loaded
+    public CachedAccount get(String accountNumber, Function<String, CachedAccount> loader) {
+        return accounts.get(accountNumber, loader);
+    }
+
+    public String getAccountNumber(Long userId, Function<Long, String> loader) {
+        return accountNumbersByUser.get(userId, loader);
+    }
+
+    public void onAccountUpdated(Account account) {
+        String accountNumber = account.getAccountNumber();
+        BigDecimal balance = account.getBalance();
+        AccountStatus status = account.getStatus();
+        long version = account.getVersion() != null ? account.getVersion() : 0;
+
+        Runnable apply = () -> accounts.asMap().computeIfPresent(accountNumber,
+                (key, cached) -> cached.version() < version ? cached.updated(balance, status, version) : cached);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    public void evict(String accountNumber) {
+        accounts.invalidate(accountNumber);
+    }
+
+    public void evictAll() {
+        accounts.invalidateAll();
+    }
+
+    public record CachedAccount(AccountResponse response, Long ownerId, long version) {
+        CachedAccount updated(BigDecimal balance, AccountStatus status, long newVersion) {
+            AccountResponse copy = new AccountResponse(response.getId(), response.getAccountNumber(), balance,
+                    response.getAccountType(), status, response.getOwnerName(), response.getCreatedAt());
+            return new CachedAccount(copy, ownerId, newVersion);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that carries committed balance and status changes of an
+ * account row into {@link AccountCache} and the {@link InMemoryLedger}. Bulk
+ * JPQL updates bypass it.
+ */
+@Component
+public class AccountChangeListener {
+
+    @Autowired
+    @Lazy
+    private AccountCache accountCache;
+
+    @Autowired
+    @Lazy
+    private InMemoryLedger inMemoryLedger;
+
+    @PostUpdate
+    public void onAccountUpdated(Account account) {
+        accountCache.onAccountUpdated(account);
+        inMemoryLedger.onAccountUpdated(account);
+    }
+
+    @PostRemove
+    public void onAccountRemoved(Account account) {
+        accountCache.evict(account.getAccountNumber());
+    }
+}
@@ -1,23 +1,44 @@
 package com.banking.service;
 
+import com.banking.dto.AccountPageResponse;
 import com.banking.dto.AccountResponse;
+import com.banking.dto.TransactionPageResponse;
 import com.banking.dto.TransactionRequest;
 import com.banking.dto.TransactionResponse;
+import com.banking.exception.AccountAccessDeniedException;
+import com.banking.exception.AccountNotActiveException;
+import com.banking.exception.InsufficientBalanceException;
+import com.banking.exception.ResourceNotFoundException;
 import com.banking.model.*;
 import com.banking.repository.AccountRepository;
 import com.banking.repository.TransactionRepository;
 import com.banking.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AccountService {
@@ -31,61 +52,173 @@ public class AccountService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private InMemoryLedger inMemoryLedger;
+    
+    @Autowired
+    private EventSourcedLedger eventSourcedLedger;
+    
+    @Autowired
+    private RetryingExecutor retryingExecutor;
+    
+    @Autowired
+    private LockWaitTimeout lockWaitTimeout;
+    
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+    
+    @Autowired
+    private AccountCache accountCache;
+    
+    @Autowired
+    private ShardRouter shardRouter;
+    
+    @Autowired
+    private CrossShardTransferService crossShardTransferService;
+    
+    @Autowired
+    private ReplicaRouter replicaRouter;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${banking.transfer.pessimistic-locking:false}")
+    private boolean pessimisticTransfers;
+    
+    @Value("${banking.history.max-page-size:500}")
+    private int maxPageSize;
+    
+    @Value("${banking.admin.max-page-size:500}")
+    private int maxAdminPageSize;
+    
+    // Sortable columns of the admin listing, with the order the database applies (enums sort by name)
+    private static final Map<String, Comparator<AccountResponse>> ADMIN_SORT_KEYS = Map.of(
+            "id", Comparator.comparing(AccountResponse::getId),
+            "accountNumber", Comparator.comparing(AccountResponse::getAccountNumber),
+            "balance", Comparator.comparing(AccountResponse::getBalance, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "accountType", Comparator.comparing((AccountResponse account) -> account.getAccountType().name()),
+            "status", Comparator.comparing((AccountResponse account) -> account.getStatus().name()),
+            "createdAt", Comparator.comparing(AccountResponse::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+    
+    // Accounts per live-balance lookup when streaming the export, matching the cursor fetch size
+    private static final int LIVE_BALANCE_CHUNK = 1000;
+    
+    @Value("${banking.coalescing.enabled:false}")
+    private boolean coalescing;
+    
     public AccountResponse getAccountDetails(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNumber));
-        
-        // Check if current user can access this account
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = (User) auth.getPrincipal();
-        
-        if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Access denied: You can only access your own account");
+        if (useAccountCache()) {
+            AccountCache.CachedAccount cached = accountCache.get(accountNumber, this::loadCachedAccount);
+            checkOwner(cached.ownerId(), "Access denied: You can only access your own account");
+            return cached.response();
         }
         
-        return mapToAccountResponse(account);
+        return readOnly(status -> {
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
+            
+            // Check if current user can access this account
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            User currentUser = (User) auth.getPrincipal();
+            
+            if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
+                throw new AccountAccessDeniedException("Access denied: You can only access your own account");
+            }
+            
+            return mapToAccountResponse(account);
+        });
     }
     
     public AccountResponse getMyAccount() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         User currentUser = (User) auth.getPrincipal();
         
-        Account account = accountRepository.findByUserId(currentUser.getId())
-                .orElseThrow(() -> new RuntimeException("Account not found for user"));
+        // The owner's account may live on any shard; the directory on the home shard knows which
+        if (shardRouter.isEnabled()) {
+            String accountNumber = shardRouter.findAccountNumber(currentUser.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found for user"));
+            return shardRouter.callOn(shardRouter.shardFor(accountNumber), () -> getAccountDetails(accountNumber));
+        }
+        
+        if (useAccountCache()) {
+            String accountNumber = accountCache.getAccountNumber(currentUser.getId(), userId -> accountRepository
+                    .findAccountNumberByUserId(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found for user")));
+            return accountCache.get(accountNumber, this::loadCachedAccount).response();
+        }
         
-        return mapToAccountResponse(account);
+        return readOnly(status -> mapToAccountResponse(accountRepository.findByUserId(currentUser.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found for user"))));
     }
     
     public BigDecimal getBalance(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNumber));
-        
-        // Check if current user can access this account
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = (User) auth.getPrincipal();
+        if (inMemoryLedger.isEnabled()) {
+            InMemoryLedger.LedgerAccount ledgerAccount = inMemoryLedger.getAccount(accountNumber);
+            checkLedgerAccess(ledgerAccount, "Access denied: You can only access your own account");
+            return ledgerAccount.getBalance();
+        }
         
-        if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Access denied: You can only access your own account");
+        if (useAccountCache()) {
+            AccountCache.CachedAccount cached = accountCache.get(accountNumber, this::loadCachedAccount);
+            checkOwner(cached.ownerId(), "Access denied: You can only access your own account");
+            return cached.response().getBalance();
         }
         
-        return account.getBalance();
+        return readOnly(status -> {
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
+            
+            // Check if current user can access this account
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            User currentUser = (User) auth.getPrincipal();
+            
+            if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
+                throw new AccountAccessDeniedException("Access denied: You can only access your own account");
+            }
+            
+            return eventSourcedLedger.isEnabled() ? eventSourcedLedger.getBalance(account) : account.getBalance();
+        });
     }
     
-    @Transactional
     public TransactionResponse deposit(String accountNumber, TransactionRequest request) {
+        if (inMemoryLedger.isEnabled()) {
+            InMemoryLedger.LedgerAccount ledgerAccount = inMemoryLedger.getAccount(accountNumber);
+            checkLedgerAccess(ledgerAccount, "Access denied: You can only access your own account");
+            return inMemoryLedger.deposit(ledgerAccount, request.getAmount(), request.getDescription());
+        }
+        
+        if (coalescing && !eventSourcedLedger.isEnabled()) {
+            return coalesce(accountNumber, TransactionType.DEPOSIT, request);
+        }
+        
+        return retryingExecutor.execute(accountNumber,
+                () -> transactionTemplate.execute(status -> applyDeposit(accountNumber, request)));
+    }
+    
+    private TransactionResponse applyDeposit(String accountNumber, TransactionRequest request) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNumber));
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
         
         // Check if current user can access this account
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         User currentUser = (User) auth.getPrincipal();
         
         if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Access denied: You can only access your own account");
+            throw new AccountAccessDeniedException("Access denied: You can only access your own account");
         }
         
         if (account.getStatus() != AccountStatus.ACTIVE) {
-            throw new RuntimeException("Account is not active");
+            throw new AccountNotActiveException("Account is not active");
+        }
+        
+        replicaRouter.recordWrite(currentUser.getId());
+        
+        if (eventSourcedLedger.isEnabled()) {
+            return mapToTransactionResponse(eventSourcedLedger.deposit(account, request.getAmount(),
+                    request.getDescription() != null ? request.getDescription() : "Deposit"));
         }
         
         BigDecimal newBalance = account.getBalance().add(request.getAmount());
@@ -105,25 +238,46 @@ public class AccountService {
         return mapToTransactionResponse(transaction);
     }
     
-    @Transactional
     public TransactionResponse withdraw(String accountNumber, TransactionRequest request) {
+        if (inMemoryLedger.isEnabled()) {
+            InMemoryLedger.LedgerAccount ledgerAccount = inMemoryLedger.getAccount(accountNumber);
+            checkLedgerAccess(ledgerAccount, "Access denied: You can only access your own account");
+            return inMemoryLedger.withdraw(ledgerAccount, request.getAmount(), request.getDescription());
+        }
+        
+        if (coalescing && !eventSourcedLedger.isEnabled()) {
+            return coalesce(accountNumber, TransactionType.WITHDRAWAL, request);
+        }
+        
+        return retryingExecutor.execute(accountNumber,
+                () -> transactionTemplate.execute(status -> applyWithdraw(accountNumber, request)));
+    }
+    
+    private TransactionResponse applyWithdraw(String accountNumber, TransactionRequest request) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNumber));
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
         
         // Check if current user can access this account
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         User currentUser = (User) auth.getPrincipal();
         
         if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Access denied: You can only access your own account");
+            throw new AccountAccessDeniedException("Access denied: You can only access your own account");
         }
         
         if (account.getStatus() != AccountStatus.ACTIVE) {
-            throw new RuntimeException("Account is not active");
+            throw new AccountNotActiveException("Account is not active");
+        }
+        
+        replicaRouter.recordWrite(currentUser.getId());
+        
+        if (eventSourcedLedger.isEnabled()) {
+            return mapToTransactionResponse(eventSourcedLedger.withdraw(account, request.getAmount(),
+                    request.getDescription() != null ? request.getDescription() : "Withdrawal"));
         }
         
         if (account.getBalance().compareTo(request.getAmount()) < 0) {
-            throw new RuntimeException("Insufficient balance");
+            throw new InsufficientBalanceException("Insufficient balance");
         }
         
         BigDecimal newBalance = account.getBalance().subtract(request.getAmount());
@@ -143,28 +297,156 @@ public class AccountService {
         return mapToTransactionResponse(transaction);
     }
     
-    @Transactional
+    // Same-account deposits and withdrawals arriving together share one transaction and one balance update
+    private TransactionResponse coalesce(String accountNumber, TransactionType type, TransactionRequest request) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        CoalescedOperation operation = new CoalescedOperation(accountNumber, type, request, currentUser);
+        return requestCoalescer.submit(accountNumber, operation, this::applyCoalesced);
+    }
+    
+    private void applyCoalesced(List<RequestCoalescer.Request<CoalescedOperation, TransactionResponse>> batch) {
+        String accountNumber = batch.get(0).getItem().accountNumber();
+        
+        retryingExecutor.execute(accountNumber, () -> transactionTemplate.execute(status -> {
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
+            
+            // Apply in arrival order; a rejected operation does not affect the others
+            BigDecimal balance = account.getBalance();
+            List<Transaction> transactions = new ArrayList<>(batch.size());
+            List<RequestCoalescer.Request<CoalescedOperation, TransactionResponse>> applied = new ArrayList<>(batch.size());
+            
+            for (RequestCoalescer.Request<CoalescedOperation, TransactionResponse> pending : batch) {
+                CoalescedOperation operation = pending.getItem();
+                BigDecimal amount = operation.request().getAmount();
+                
+                if (!operation.user().getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(operation.user().getId())) {
+                    pending.fail(new AccountAccessDeniedException("Access denied: You can only access your own account"));
+                    continue;
+                }
+                
+                if (account.getStatus() != AccountStatus.ACTIVE) {
+                    pending.fail(new AccountNotActiveException("Account is not active"));
+                    continue;
+                }
+                
+                boolean isDeposit = operation.type() == TransactionType.DEPOSIT;
+                if (!isDeposit && balance.compareTo(amount) < 0) {
+                    pending.fail(new InsufficientBalanceException("Insufficient balance"));
+                    continue;
+                }
+                
+                balance = isDeposit ? balance.add(amount) : balance.subtract(amount);
+                String description = operation.request().getDescription() != null
+                        ? operation.request().getDescription()
+                        : (isDeposit ? "Deposit" : "Withdrawal");
+                transactions.add(new Transaction(amount, operation.type(), description, account, balance));
+                applied.add(pending);
+                replicaRouter.recordWrite(operation.user().getId());
+            }
+            
+            if (!transactions.isEmpty()) {
+                account.setBalance(balance);
+                accountRepository.save(account);
+                transactionRepository.saveAll(transactions);
+            }
+            
+            for (int i = 0; i < applied.size(); i++) {
+                applied.get(i).succeed(mapToTransactionResponse(transactions.get(i)));
+            }
+            return null;
+        }));
+    }
+    
+    private record CoalescedOperation(String accountNumber, TransactionType type, TransactionRequest request, User user) {}
+    
     public String transfer(String fromAccountNumber, TransactionRequest request) {
+        if (inMemoryLedger.isEnabled()) {
+            InMemoryLedger.LedgerAccount fromLedgerAccount = inMemoryLedger.getAccount(fromAccountNumber);
+            InMemoryLedger.LedgerAccount toLedgerAccount = inMemoryLedger.getAccount(request.getToAccountNumber());
+            checkLedgerAccess(fromLedgerAccount, "Access denied: You can only transfer from your own account");
+            inMemoryLedger.transfer(fromLedgerAccount, toLedgerAccount, request.getAmount(), request.getDescription());
+            return "Transfer completed successfully";
+        }
+        
+        if (shardRouter.isEnabled() && request.getToAccountNumber() != null
+                && shardRouter.shardFor(fromAccountNumber) != shardRouter.shardFor(request.getToAccountNumber())) {
+            if (fromAccountNumber.equals(request.getToAccountNumber())) {
+                throw new RuntimeException("Cannot transfer to the same account");
+            }
+            return crossShardTransferService.transfer(fromAccountNumber, request);
+        }
+        
+        // Each retry runs in a fresh transaction so a conflict does not poison the next attempt.
+        // Journal appends never update account rows, so there is nothing to lock in event-sourced mode
+        boolean locked = pessimisticTransfers && !eventSourcedLedger.isEnabled();
+        return retryingExecutor.execute(fromAccountNumber, () -> transactionTemplate.execute(status -> locked
+                ? lockedTransfer(fromAccountNumber, request)
+                : unlockedTransfer(fromAccountNumber, request)));
+    }
+    
+    private String unlockedTransfer(String fromAccountNumber, TransactionRequest request) {
         Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
-                .orElseThrow(() -> new RuntimeException("Source account not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Source account not found"));
         
         Account toAccount = accountRepository.findByAccountNumber(request.getToAccountNumber())
-                .orElseThrow(() -> new RuntimeException("Destination account not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Destination account not found"));
+        
+        return applyTransfer(fromAccount, toAccount, request);
+    }
+    
+    private String lockedTransfer(String fromAccountNumber, TransactionRequest request) {
+        Long fromId = accountRepository.findIdByAccountNumber(fromAccountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Source account not found"));
+        
+        Long toId = accountRepository.findIdByAccountNumber(request.getToAccountNumber())
+                .orElseThrow(() -> new ResourceNotFoundException("Destination account not found"));
+        
+        // Always lock the lower id first so opposing A->B / B->A transfers cannot deadlock
+        lockWaitTimeout.apply();
+        Account fromAccount;
+        Account toAccount;
+        if (fromId <= toId) {
+            fromAccount = lockAccount(fromId);
+            toAccount = lockAccount(toId);
+        } else {
+            toAccount = lockAccount(toId);
+            fromAccount = lockAccount(fromId);
+        }
         
+        return applyTransfer(fromAccount, toAccount, request);
+    }
+    
+    private Account lockAccount(Long id) {
+        return accountRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+    }
+    
+    private String applyTransfer(Account fromAccount, Account toAccount, TransactionRequest request) {
         // Check if current user can access the source account
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         User currentUser = (User) auth.getPrincipal();
         
         if (!currentUser.getRole().equals(Role.ADMIN) && !fromAccount.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Access denied: You can only transfer from your own account");
+            throw new AccountAccessDeniedException("Access denied: You can only transfer from your own account");
         }
         
         if (fromAccount.getStatus() != AccountStatus.ACTIVE || toAccount.getStatus() != AccountStatus.ACTIVE) {
-            throw new RuntimeException("One or both accounts are not active");
+            throw new AccountNotActiveException("One or both accounts are not active");
+        }
+        
+        replicaRouter.recordWrite(currentUser.getId());
+        
+        if (eventSourcedLedger.isEnabled()) {
+            if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
+                throw new RuntimeException("Cannot transfer to the same account");
+            }
+            eventSourcedLedger.transfer(fromAccount, toAccount, request.getAmount(), request.getDescription());
+            return "Transfer completed successfully";
         }
         
         if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
-            throw new RuntimeException("Insufficient balance");
+            throw new InsufficientBalanceException("Insufficient balance");
         }
         
         if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
@@ -185,7 +467,7 @@ public class AccountService {
         Transaction debitTransaction = new Transaction(
                 request.getAmount(),
                 TransactionType.TRANSFER_OUT,
-                "Transfer to " + toAccount.getAccountNumber(),
+                request.getDescription() != null ? request.getDescription() : "Transfer to " + toAccount.getAccountNumber(),
                 fromAccount,
                 newFromBalance
         );
@@ -205,16 +487,17 @@ public class AccountService {
         return "Transfer completed successfully";
     }
     
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionHistory(String accountNumber) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNumber));
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
         
         // Check if current user can access this account
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         User currentUser = (User) auth.getPrincipal();
         
         if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
-            throw new RuntimeException("Access denied: You can only access your own account transactions");
+            throw new AccountAccessDeniedException("Access denied: You can only access your own account transactions");
         }
         
         List<Transaction> transactions = transactionRepository.findByAccountIdOrderByTransactionDateDesc(account.getId());
@@ -224,19 +507,252 @@ public class AccountService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionPage(String accountNumber, String cursor, int size) {
+        Long accountId = getHistoryAccountId(accountNumber);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        
+        // Fetch one extra row to learn whether another page follows
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findFirstPageByAccountId(accountId, pageRequest);
+        } else {
+            String[] position = decodeCursor(cursor);
+            transactions = transactionRepository.findPageByAccountIdAfter(accountId,
+                    LocalDateTime.parse(position[0]), Long.valueOf(position[1]), pageRequest);
+        }
+        
+        boolean hasMore = transactions.size() > limit;
+        if (hasMore) {
+            transactions = transactions.subList(0, limit);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = transactions.get(transactions.size() - 1);
+            nextCursor = encodeCursor(last.getTransactionDate(), last.getId());
+        }
+        
+        return new TransactionPageResponse(
+                transactions.stream().map(this::mapToTransactionResponse).collect(Collectors.toList()),
+                nextCursor,
+                hasMore);
+    }
+    
+    @Transactional(readOnly = true)
+    public Long getHistoryAccountId(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
+        
+        // Check if current user can access this account
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User currentUser = (User) auth.getPrincipal();
+        
+        if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
+            throw new AccountAccessDeniedException("Access denied: You can only access your own account transactions");
+        }
+        
+        return account.getId();
+    }
+    
+    // Callers must check access with getHistoryAccountId first; entities are detached as they
+    // are consumed so the persistence context stays constant in size
+    @Transactional(readOnly = true)
+    public void streamTransactionHistory(Long accountId, Consumer<TransactionResponse> consumer) {
+        try (Stream<Transaction> transactions = transactionRepository.streamByAccountId(accountId)) {
+            transactions.forEach(transaction -> {
+                consumer.accept(mapToTransactionResponse(transaction));
+                entityManager.detach(transaction);
+            });
+        }
+    }
+    
+    private String encodeCursor(LocalDateTime transactionDate, Long id) {
+        String position = transactionDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+    
     @PreAuthorize("hasRole('ADMIN')")
-    public List<AccountResponse> getAllAccounts() {
-        List<Account> accounts = accountRepository.findAll();
-        return accounts.stream()
-                .map(this::mapToAccountResponse)
-                .collect(Collectors.toList());
+    public AccountPageResponse getAccountPage(AccountStatus status, int page, int size, Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!ADMIN_SORT_KEYS.containsKey(order.getProperty())) {
+                throw new RuntimeException("Cannot sort accounts by " + order.getProperty());
+            }
+        }
+        
+        // Tie-break on id so pages are stable when the sort key repeats
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.max(1, Math.min(size, maxAdminPageSize));
+        Sort stableSort = sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+        
+        if (shardRouter.isEnabled()) {
+            return getShardedAccountPage(status, pageNumber, pageSize, stableSort);
+        }
+        
+        Page<AccountResponse> accounts = readOnly(transactionStatus -> {
+            Page<AccountResponse> rows = accountRepository.findByStatus(status, PageRequest.of(pageNumber, pageSize, stableSort));
+            withLiveBalances(rows.getContent());
+            return rows;
+        });
+        
+        return new AccountPageResponse(
+                accounts.getContent(),
+                accounts.getNumber(),
+                accounts.getSize(),
+                accounts.getTotalElements(),
+                accounts.getTotalPages());
+    }
+    
+    // Every shard returns its first (page + 1) * size rows in order and the merged list is cut to the page,
+    // so deep pages cost more per shard; use the export for full scans
+    private AccountPageResponse getShardedAccountPage(AccountStatus status, int page, int size, Sort sort) {
+        PageRequest topRows = PageRequest.of(0, (page + 1) * size, sort);
+        List<AccountResponse> merged = new ArrayList<>();
+        long totalElements = 0;
+        
+        for (int shard : shardRouter.shardIds()) {
+            Page<AccountResponse> accounts = shardRouter.callOn(shard, () -> readOnly(transactionStatus -> {
+                Page<AccountResponse> rows = accountRepository.findByStatus(status, topRows);
+                withLiveBalances(rows.getContent());
+                return rows;
+            }));
+            merged.addAll(accounts.getContent());
+            totalElements += accounts.getTotalElements();
+        }
+        
+        Comparator<AccountResponse> order = null;
+        for (Sort.Order sortOrder : sort) {
+            Comparator<AccountResponse> key = ADMIN_SORT_KEYS.get(sortOrder.getProperty());
+            key = sortOrder.isAscending() ? key : key.reversed();
+            order = order == null ? key : order.thenComparing(key);
+        }
+        // Ids are only unique within a shard
+        merged.sort(order.thenComparing(AccountResponse::getAccountNumber));
+        
+        List<AccountResponse> content = merged.subList(Math.min(page * size, merged.size()),
+                Math.min((page + 1) * size, merged.size()));
+        return new AccountPageResponse(
+                new ArrayList<>(content),
+                page,
+                size,
+                totalElements,
+                (int) ((totalElements + size - 1) / size));
     }
     
-    private AccountResponse mapToAccountResponse(Account account) {
+    // Rows are projected straight into DTOs, so nothing accumulates in the persistence context.
+    // One read-only transaction per shard, shard after shard
+    @PreAuthorize("hasRole('ADMIN')")
+    public void streamAccounts(AccountStatus status, Consumer<AccountResponse> consumer) {
+        for (int shard : shardRouter.shardIds()) {
+            shardRouter.runOn(shard, () -> readOnly(transactionStatus -> {
+                try (Stream<AccountResponse> accounts = accountRepository.streamByStatus(status)) {
+                    List<AccountResponse> chunk = new ArrayList<>(LIVE_BALANCE_CHUNK);
+                    accounts.forEach(account -> {
+                        chunk.add(account);
+                        if (chunk.size() == LIVE_BALANCE_CHUNK) {
+                            withLiveBalances(chunk).forEach(consumer);
+                            chunk.clear();
+                        }
+                    });
+                    withLiveBalances(chunk).forEach(consumer);
+                }
+                return null;
+            }));
+        }
+    }
+    
+    // Read-only transactions may be served by a replica (see ReplicaRouter); the transaction
+    // starts on the shard already selected, so callers switch shards outside of it
+    private <T> T readOnly(TransactionCallback<T> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template.execute(action);
+    }
+    
+    // Projections read the balance column, which the ledger modes do not keep current. Event-sourced
+    // balances of a whole page or chunk come from one query; must run in the transaction that read the rows
+    private List<AccountResponse> withLiveBalances(List<AccountResponse> accounts) {
+        if (inMemoryLedger.isEnabled()) {
+            for (AccountResponse account : accounts) {
+                account.setBalance(inMemoryLedger.getBalance(account.getAccountNumber(), account.getBalance()));
+            }
+        } else if (eventSourcedLedger.isEnabled()) {
+            Map<Long, BigDecimal> balances = eventSourcedLedger.getBalances(
+                    accounts.stream().map(AccountResponse::getId).toList());
+            for (AccountResponse account : accounts) {
+                BigDecimal balance = balances.get(account.getId());
+                account.setBalance(balance != null
+                        ? balance
+                        : eventSourcedLedger.getBalance(account.getId(), account.getBalance()));
+            }
+        }
+        return accounts;
+    }
+    
+    // Cached responses mirror the account row, which the ledger modes do not keep current
+    private boolean useAccountCache() {
+        return accountCache.isEnabled() && !inMemoryLedger.isEnabled() && !eventSourcedLedger.isEnabled();
+    }
+    
+    // Loaded from the primary: an entry read from a lagging replica would outlive the lag by the cache TTL
+    private AccountCache.CachedAccount loadCachedAccount(String accountNumber) {
+        Account account = replicaRouter.callOnPrimary(() -> accountRepository.findWithUserByAccountNumber(accountNumber))
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
+        
+        return new AccountCache.CachedAccount(mapToAccountResponse(account), account.getUser().getId(),
+                account.getVersion() != null ? account.getVersion() : 0);
+    }
+    
+    private void checkOwner(Long ownerId, String message) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User currentUser = (User) auth.getPrincipal();
+        
+        if (!currentUser.getRole().equals(Role.ADMIN) && !ownerId.equals(currentUser.getId())) {
+            throw new AccountAccessDeniedException(message);
+        }
+    }
+    
+    private void checkLedgerAccess(InMemoryLedger.LedgerAccount ledgerAccount, String message) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User currentUser = (User) auth.getPrincipal();
+        
+        if (!currentUser.getRole().equals(Role.ADMIN) && !ledgerAccount.getUserId().equals(currentUser.getId())) {
+            throw new AccountAccessDeniedException(message);
+        }
+    }
+    
+    AccountResponse mapToAccountResponse(Account account) {
+        // The in-memory ledger is ahead of the persisted balance until write-behind catches up;
+        // in event-sourced mode the account row only holds the journal's opening balance
+        BigDecimal balance;
+        if (inMemoryLedger.isEnabled()) {
+            balance = inMemoryLedger.getAccount(account.getAccountNumber()).getBalance();
+        } else if (eventSourcedLedger.isEnabled()) {
+            balance = eventSourcedLedger.getBalance(account);
+        } else {
+            balance = account.getBalance();
+        }
+        
         return new AccountResponse(
                 account.getId(),
                 account.getAccountNumber(),
-                account.getBalance(),
+                balance,
                 account.getAccountType(),
                 account.getStatus(),
                 account.getUser().getFirstName() + " " + account.getUser().getLastName(),
@@ -244,7 +760,7 @@ public class AccountService {
         );
     }
     
-    private TransactionResponse mapToTransactionResponse(Transaction transaction) {
+    TransactionResponse mapToTransactionResponse(Transaction transaction) {
         return new TransactionResponse(
                 transaction.getId(),
                 transaction.getAmount(),
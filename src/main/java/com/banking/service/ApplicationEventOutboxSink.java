@@ -0,0 +1,29 @@
+package com.banking.service;
+
+import com.banking.dto.LedgerEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sink: publishes each event to in-process {@code @EventListener}
+ * methods taking a {@link LedgerEvent}. Listeners run on the relay thread, and
+ * one that throws makes the relay retry the batch.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "events", matchIfMissing = true)
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        for (LedgerEvent event : events) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
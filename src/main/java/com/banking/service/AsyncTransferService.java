@@ -0,0 +1,219 @@
+package com.banking.service;
+
+import com.banking.dto.AccountResponse;
+import com.banking.dto.TransactionRequest;
+import com.banking.dto.TransferStatusResponse;
+import com.banking.dto.TransferStatusResponse.Status;
+import com.banking.exception.AccountNotActiveException;
+import com.banking.exception.ResourceNotFoundException;
+import com.banking.exception.ServiceOverloadedException;
+import com.banking.model.AccountStatus;
+import com.banking.model.Role;
+import com.banking.model.User;
+import com.banking.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts transfers without holding the request thread. A submission is
+ * validated, given an id and queued; the caller polls its status. Work is
+ * partitioned by source account onto single-threaded workers, so transfers out
+ * of one account run in submission order while different accounts proceed in
+ * parallel. Each partition has a bounded queue and rejects with 429 when full.
+ *
+ * Statuses and queued work live in memory only: after a restart unknown ids
+ * report not found, and transfers still queued at shutdown are not applied.
+ * Clients that need to resubmit safely should send an Idempotency-Key.
+ */
+@Service
+public class AsyncTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTransferService.class);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${banking.transfer.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.transfer.async.partitions:0}")
+    private int partitionCount;
+
+    @Value("${banking.transfer.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${banking.transfer.async.status-ttl-minutes:60}")
+    private long statusTtlMinutes;
+
+    @Value("${banking.transfer.async.status-max-size:100000}")
+    private long statusMaxSize;
+
+    private ThreadPoolExecutor[] partitions;
+
+    // Latest status per transfer id; entries are replaced, never mutated, so readers see a consistent view
+    private Cache<String, Owned> statuses;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        int count = partitionCount > 0 ? partitionCount : Runtime.getRuntime().availableProcessors();
+        partitions = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            String name = "transfer-worker-" + i;
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            ExecutorServiceMetrics.monitor(meterRegistry, partitions[i], "transfer.async",
+                    Tags.of("partition", String.valueOf(i)));
+        }
+
+        statuses = Caffeine.newBuilder()
+                .maximumSize(statusMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(statusTtlMinutes))
+                .build();
+
+        logger.info("Async transfers enabled ({} partitions, queue capacity {} each)", count, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (partitions == null) {
+            return;
+        }
+
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor partition : partitions) {
+                partition.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TransferStatusResponse submit(String fromAccountNumber, TransactionRequest request) {
+        // Checks that cannot change while queued fail fast; balance is checked when the transfer runs
+        AccountResponse fromAccount = accountService.getAccountDetails(fromAccountNumber);
+        if (fromAccount.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("Source account is not active");
+        }
+
+        if (request.getToAccountNumber() == null || request.getToAccountNumber().isBlank()) {
+            throw new RuntimeException("Destination account is required");
+        }
+
+        if (fromAccountNumber.equals(request.getToAccountNumber())) {
+            throw new RuntimeException("Cannot transfer to the same account");
+        }
+
+        String toAccountNumber = request.getToAccountNumber();
+        if (!shardRouter.callOn(shardRouter.shardFor(toAccountNumber),
+                () -> accountRepository.existsByAccountNumber(toAccountNumber))) {
+            throw new ResourceNotFoundException("Destination account not found");
+        }
+
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        User currentUser = (User) securityContext.getAuthentication().getPrincipal();
+        String transferId = UUID.randomUUID().toString();
+
+        TransferStatusResponse pending = new TransferStatusResponse(transferId, Status.PENDING, fromAccountNumber,
+                request.getToAccountNumber(), request.getAmount(), null, LocalDateTime.now(), null);
+        statuses.put(transferId, new Owned(currentUser.getId(), pending));
+
+        try {
+            partitionFor(fromAccountNumber).execute(() -> run(securityContext, currentUser.getId(), pending, request));
+        } catch (RejectedExecutionException e) {
+            statuses.invalidate(transferId);
+            throw new ServiceOverloadedException("Too many transfers queued for this account, please retry",
+                    HttpStatus.TOO_MANY_REQUESTS, 1);
+        }
+
+        return pending;
+    }
+
+    public TransferStatusResponse getStatus(String transferId) {
+        Owned owned = statuses.getIfPresent(transferId);
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        // Someone else's id looks the same as an unknown one
+        if (owned == null || (!currentUser.getRole().equals(Role.ADMIN) && !owned.ownerId().equals(currentUser.getId()))) {
+            throw new ResourceNotFoundException("Transfer not found: " + transferId);
+        }
+
+        return owned.status();
+    }
+
+    private void run(SecurityContext securityContext, Long ownerId, TransferStatusResponse pending,
+                     TransactionRequest request) {
+        Status status;
+        String message;
+
+        // AccountService authorizes against the submitting user, so run with their security context
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            message = shardRouter.callOn(shardRouter.shardFor(pending.getFromAccountNumber()),
+                    () -> accountService.transfer(pending.getFromAccountNumber(), request));
+            status = Status.COMPLETED;
+        } catch (RuntimeException e) {
+            message = e.getMessage();
+            status = Status.FAILED;
+            logger.debug("Async transfer {} failed: {}", pending.getTransferId(), e.getMessage());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        statuses.put(pending.getTransferId(), new Owned(ownerId, new TransferStatusResponse(pending.getTransferId(),
+                status, pending.getFromAccountNumber(), pending.getToAccountNumber(), pending.getAmount(), message,
+                pending.getSubmittedAt(), LocalDateTime.now())));
+    }
+
+    private ThreadPoolExecutor partitionFor(String fromAccountNumber) {
+        return partitions[Math.floorMod(fromAccountNumber.hashCode(), partitions.length)];
+    }
+
+    private record Owned(Long ownerId, TransferStatusResponse status) {}
+}
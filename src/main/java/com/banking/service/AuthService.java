@@ -12,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,16 +36,26 @@ public class AuthService {
     @Autowired
     JwtUtils jwtUtils;
     
+    @Autowired
+    ShardRouter shardRouter;
+    
     @Transactional
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
         
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Runs on the password hashing pool, so the authentication is not bound to a
+        // security context there; the returned token is what authenticates later requests
         String jwt = jwtUtils.generateJwtToken(authentication);
         
         User user = (User) authentication.getPrincipal();
-        String accountNumber = user.getAccount() != null ? user.getAccount().getAccountNumber() : null;
+        String accountNumber;
+        if (shardRouter.isEnabled()) {
+            // Users live on the home shard, their accounts may not
+            accountNumber = shardRouter.findAccountNumber(user.getId()).orElse(null);
+        } else {
+            accountNumber = user.getAccount() != null ? user.getAccount().getAccountNumber() : null;
+        }
         
         return new JwtResponse(jwt,
                 user.getId(),
@@ -74,17 +83,18 @@ public class AuthService {
                 signUpRequest.getLastName(),
                 signUpRequest.getRole());
         
-        userRepository.save(user);
+        // Flushed so a duplicate surfaces before the account is placed, possibly on another shard
+        userRepository.saveAndFlush(user);
         
         // Create account for the user
         String accountNumber = generateAccountNumber();
         Account account = new Account(accountNumber, signUpRequest.getAccountType(), user);
-        accountRepository.save(account);
+        shardRouter.placeAccount(account);
         
         return "User registered successfully!";
     }
     
-    private String generateAccountNumber() {
+    String generateAccountNumber() {
         Random random = new Random();
         StringBuilder accountNumber = new StringBuilder();
         
@@ -94,7 +104,10 @@ public class AuthService {
         }
         
         //  Check if account number already exists
-        if (accountRepository.existsByAccountNumber(accountNumber.toString())) {
+        boolean taken = shardRouter.isEnabled()
+                ? shardRouter.isPlaced(accountNumber.toString())
+                : accountRepository.existsByAccountNumber(accountNumber.toString());
+        if (taken) {
             return generateAccountNumber(); // Recursive call if exists
         }
         
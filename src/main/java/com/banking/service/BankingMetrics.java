@@ -0,0 +1,89 @@
+package com.banking.service;
+
+import com.banking.exception.AccountAccessDeniedException;
+import com.banking.exception.AccountNotActiveException;
+import com.banking.exception.InsufficientBalanceException;
+import com.banking.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times banking operations and counts their outcomes. Tags are limited to the
+ * operation name and a fixed set of outcomes; account numbers are never tagged.
+ * Each meter is registered once per tag set and reused afterwards.
+ */
+@Component
+public class BankingMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_INSUFFICIENT_BALANCE = "insufficient_balance";
+    public static final String OUTCOME_INACTIVE_ACCOUNT = "inactive_account";
+    public static final String OUTCOME_ACCESS_DENIED = "access_denied";
+    public static final String OUTCOME_NOT_FOUND = "not_found";
+    public static final String OUTCOME_ERROR = "error";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    public <T> T record(String operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        String outcome = OUTCOME_SUCCESS;
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            outcome = classify(e);
+            failureCounter(operation, outcome).increment();
+            throw e;
+        } finally {
+            timer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.computeIfAbsent(operation + '|' + outcome, key -> Timer.builder("banking.operation")
+                .description("Latency of banking operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter failureCounter(String operation, String reason) {
+        return failureCounters.computeIfAbsent(operation + '|' + reason, key -> Counter.builder("banking.operation.failures")
+                .description("Failed banking operations by reason")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry));
+    }
+
+    // Business failures carry their own exception types; the cause chain covers wrapped ones
+    static String classify(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InsufficientBalanceException) {
+                return OUTCOME_INSUFFICIENT_BALANCE;
+            }
+            if (cause instanceof AccountNotActiveException) {
+                return OUTCOME_INACTIVE_ACCOUNT;
+            }
+            if (cause instanceof AccountAccessDeniedException || cause instanceof AccessDeniedException) {
+                return OUTCOME_ACCESS_DENIED;
+            }
+            if (cause instanceof ResourceNotFoundException) {
+                return OUTCOME_NOT_FOUND;
+            }
+        }
+        return OUTCOME_ERROR;
+    }
+}
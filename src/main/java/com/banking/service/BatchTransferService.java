@@ -0,0 +1,218 @@
+package com.banking.service;
+
+import com.banking.dto.BatchTransferItemResult;
+import com.banking.dto.BatchTransferRequest;
+import com.banking.dto.BatchTransferResponse;
+import com.banking.dto.TransactionRequest;
+import com.banking.exception.AccountAccessDeniedException;
+import com.banking.exception.AccountNotActiveException;
+import com.banking.exception.ResourceNotFoundException;
+import com.banking.model.*;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many transfers out of one source account in a single database
+ * transaction. The source and every destination are locked once, in id order,
+ * and the transaction rows are inserted through Hibernate JDBC batching.
+ */
+@Service
+public class BatchTransferService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private InMemoryLedger inMemoryLedger;
+
+    @Autowired
+    private EventSourcedLedger eventSourcedLedger;
+
+    @Autowired
+    private RetryingExecutor retryingExecutor;
+
+    @Autowired
+    private LockWaitTimeout lockWaitTimeout;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    @Value("${banking.transfer.batch.max-items:10000}")
+    private int maxItems;
+
+    public BatchTransferResponse transferBatch(String fromAccountNumber, BatchTransferRequest request) {
+        if (inMemoryLedger.isEnabled()) {
+            throw new RuntimeException("Batch transfers are not supported in in-memory ledger mode");
+        }
+
+        if (eventSourcedLedger.isEnabled()) {
+            throw new RuntimeException("Batch transfers are not supported in event-sourced ledger mode");
+        }
+
+        if (request.getTransfers().size() > maxItems) {
+            throw new RuntimeException("Batch exceeds the maximum of " + maxItems + " transfers");
+        }
+
+        // The batch is one local transaction, so every destination must share the source's shard
+        if (shardRouter.isEnabled()) {
+            int shard = shardRouter.shardFor(fromAccountNumber);
+            for (TransactionRequest item : request.getTransfers()) {
+                if (item.getToAccountNumber() != null && shardRouter.shardFor(item.getToAccountNumber()) != shard) {
+                    throw new RuntimeException("Batch transfers cannot span shards; send " + item.getToAccountNumber()
+                            + " as a single transfer");
+                }
+            }
+        }
+
+        return retryingExecutor.execute(fromAccountNumber,
+                () -> transactionTemplate.execute(status -> applyBatch(fromAccountNumber, request)));
+    }
+
+    private BatchTransferResponse applyBatch(String fromAccountNumber, BatchTransferRequest request) {
+        List<TransactionRequest> items = request.getTransfers();
+        boolean allOrNothing = request.getMode() != BatchTransferRequest.Mode.BEST_EFFORT;
+
+        Set<String> accountNumbers = new HashSet<>();
+        accountNumbers.add(fromAccountNumber);
+        for (TransactionRequest item : items) {
+            if (item.getToAccountNumber() != null) {
+                accountNumbers.add(item.getToAccountNumber());
+            }
+        }
+
+        // Lock the source and all destinations in one ordered statement
+        List<Long> ids = accountRepository.findIdsByAccountNumberIn(accountNumbers);
+        lockWaitTimeout.apply();
+        Map<String, Account> accounts = accountRepository.findAllByIdInForUpdate(ids).stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        Account fromAccount = accounts.get(fromAccountNumber);
+        if (fromAccount == null) {
+            throw new ResourceNotFoundException("Source account not found");
+        }
+
+        // Check if current user can access the source account
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User currentUser = (User) auth.getPrincipal();
+
+        if (!currentUser.getRole().equals(Role.ADMIN) && !fromAccount.getUser().getId().equals(currentUser.getId())) {
+            throw new AccountAccessDeniedException("Access denied: You can only transfer from your own account");
+        }
+
+        if (fromAccount.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("Source account is not active");
+        }
+
+        replicaRouter.recordWrite(currentUser.getId());
+
+        // Validate every item against the running source balance, in request order
+        List<BatchTransferItemResult> results = new ArrayList<>(items.size());
+        List<Integer> accepted = new ArrayList<>(items.size());
+        BigDecimal fromBalance = fromAccount.getBalance();
+
+        for (int i = 0; i < items.size(); i++) {
+            TransactionRequest item = items.get(i);
+            String error = validateItem(fromAccount, accounts.get(item.getToAccountNumber()), item, fromBalance);
+
+            if (error != null) {
+                if (allOrNothing) {
+                    throw new RuntimeException("Transfer " + i + " rejected: " + error);
+                }
+                results.add(new BatchTransferItemResult(i, item.getToAccountNumber(), item.getAmount(), false, error));
+                continue;
+            }
+
+            fromBalance = fromBalance.subtract(item.getAmount());
+            accepted.add(i);
+            results.add(new BatchTransferItemResult(i, item.getToAccountNumber(), item.getAmount(), true, null));
+        }
+
+        List<Transaction> postings = new ArrayList<>(accepted.size() * 2);
+        BigDecimal fromBalanceBefore = fromAccount.getBalance();
+        BigDecimal runningFromBalance = fromBalanceBefore;
+        for (int i : accepted) {
+            TransactionRequest item = items.get(i);
+            runningFromBalance = runningFromBalance.subtract(item.getAmount());
+
+            Transaction debitTransaction = new Transaction(
+                    item.getAmount(),
+                    TransactionType.TRANSFER_OUT,
+                    item.getDescription() != null ? item.getDescription() : "Transfer to " + item.getToAccountNumber(),
+                    fromAccount,
+                    runningFromBalance
+            );
+            debitTransaction.setToAccountNumber(item.getToAccountNumber());
+            postings.add(debitTransaction);
+        }
+        fromAccount.setBalance(runningFromBalance);
+
+        // Apply credits in ascending destination id order; the sort is stable so request order breaks ties
+        List<Integer> creditOrder = new ArrayList<>(accepted);
+        creditOrder.sort(Comparator.comparing((Integer i) -> accounts.get(items.get(i).getToAccountNumber()).getId()));
+
+        for (int i : creditOrder) {
+            TransactionRequest item = items.get(i);
+            Account toAccount = accounts.get(item.getToAccountNumber());
+            BigDecimal newToBalance = toAccount.getBalance().add(item.getAmount());
+            toAccount.setBalance(newToBalance);
+
+            Transaction creditTransaction = new Transaction(
+                    item.getAmount(),
+                    TransactionType.TRANSFER_IN,
+                    "Transfer from " + fromAccountNumber,
+                    toAccount,
+                    newToBalance
+            );
+            creditTransaction.setFromAccountNumber(fromAccountNumber);
+            postings.add(creditTransaction);
+        }
+
+        // Dirty accounts are flushed as batched updates, postings as batched inserts
+        transactionRepository.saveAll(postings);
+
+        BigDecimal total = fromBalanceBefore.subtract(runningFromBalance);
+
+        return new BatchTransferResponse(items.size(), accepted.size(), items.size() - accepted.size(),
+                total, fromAccount.getBalance(), results);
+    }
+
+    private String validateItem(Account fromAccount, Account toAccount, TransactionRequest item, BigDecimal available) {
+        if (item.getToAccountNumber() == null || toAccount == null) {
+            return "Destination account not found";
+        }
+
+        if (toAccount.getStatus() != AccountStatus.ACTIVE) {
+            return "Destination account is not active";
+        }
+
+        if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
+            return "Cannot transfer to the same account";
+        }
+
+        if (available.compareTo(item.getAmount()) < 0) {
+            return "Insufficient balance";
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.banking.service;
+
+import com.banking.dto.LedgerEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process stand-in for a partitioned message broker. Events are keyed by
+ * account number, so all events of an account land in one partition in
+ * sequence order, and consumers drain partitions with {@link #poll}. A full partition
+ * fails the batch, which the relay retries, as a broker applying
+ * back-pressure would. Nothing survives a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "broker")
+public class BrokerOutboxSink implements OutboxSink {
+
+    @Value("${banking.outbox.broker.partitions:8}")
+    private int partitionCount;
+
+    @Value("${banking.outbox.broker.partition-capacity:10000}")
+    private int partitionCapacity;
+
+    @Value("${banking.outbox.broker.send-timeout-ms:1000}")
+    private long sendTimeoutMs;
+
+    private List<BlockingQueue<LedgerEvent>> partitions;
+
+    @PostConstruct
+    public void init() {
+        partitions = new ArrayList<>(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitions.add(new ArrayBlockingQueue<>(partitionCapacity));
+        }
+    }
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        for (LedgerEvent event : events) {
+            int partition = partitionFor(event.getAccountNumber());
+            try {
+                if (!partitions.get(partition).offer(event, sendTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new RuntimeException("Ledger event partition " + partition + " is full");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while publishing ledger events");
+            }
+        }
+    }
+
+    /**
+     * Removes and returns up to maxEvents of a partition's oldest events.
+     */
+    public List<LedgerEvent> poll(int partition, int maxEvents) {
+        List<LedgerEvent> events = new ArrayList<>(Math.min(maxEvents, partitionCapacity));
+        partitions.get(partition).drainTo(events, maxEvents);
+        return events;
+    }
+
+    public int partitionFor(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), partitionCount);
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+}
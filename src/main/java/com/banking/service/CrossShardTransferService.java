@@ -0,0 +1,303 @@
+package com.banking.service;
+
+import com.banking.dto.TransactionRequest;
+import com.banking.exception.AccountAccessDeniedException;
+import com.banking.exception.AccountNotActiveException;
+import com.banking.exception.InsufficientBalanceException;
+import com.banking.exception.ResourceNotFoundException;
+import com.banking.model.*;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.CrossShardTransferRepository;
+import com.banking.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfers between accounts on different shards, as a saga of local
+ * transactions: debit the source and record the saga on the source shard,
+ * credit the destination and record the saga id there, then mark the saga
+ * completed. If the credit is refused the debit is compensated by a reversal
+ * on the source shard.
+ *
+ * When the credit's outcome is unknown (the destination shard failed or the
+ * process died) the saga stays DEBITED; a background sweep later finishes it,
+ * completing it if the destination has the saga id and otherwise crediting or
+ * compensating. The money is therefore never lost, only in flight.
+ */
+@Service
+public class CrossShardTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrossShardTransferService.class);
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CrossShardTransferRepository crossShardTransferRepository;
+
+    @Autowired
+    private RetryingExecutor retryingExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${banking.sharding.saga-timeout-seconds:60}")
+    private long sagaTimeoutSeconds;
+
+    private ScheduledExecutorService recovery;
+
+    @PostConstruct
+    public void start() {
+        if (!shardRouter.isEnabled()) {
+            return;
+        }
+
+        recovery = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cross-shard-recovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        recovery.scheduleWithFixedDelay(this::recoverStalled, sagaTimeoutSeconds, sagaTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recovery != null) {
+            recovery.shutdownNow();
+        }
+    }
+
+    public String transfer(String fromAccountNumber, TransactionRequest request) {
+        String toAccountNumber = request.getToAccountNumber();
+        int fromShard = shardRouter.shardFor(fromAccountNumber);
+        int toShard = shardRouter.shardFor(toAccountNumber);
+
+        // Refuse up front what the credit would refuse, so most failures never debit
+        Account destination = shardRouter.callOn(toShard, () -> accountRepository.findByAccountNumber(toAccountNumber))
+                .orElseThrow(() -> new ResourceNotFoundException("Destination account not found"));
+        if (destination.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("One or both accounts are not active");
+        }
+
+        CrossShardTransfer saga = new CrossShardTransfer(UUID.randomUUID().toString(), fromAccountNumber,
+                toAccountNumber, request.getAmount(), CrossShardTransfer.State.DEBITED);
+        shardRouter.runOn(fromShard, () -> retryingExecutor.execute(fromAccountNumber,
+                () -> transactionTemplate.execute(status -> debit(saga, request.getDescription()))));
+
+        try {
+            shardRouter.runOn(toShard, () -> retryingExecutor.execute(toAccountNumber,
+                    () -> transactionTemplate.execute(status -> credit(saga))));
+        } catch (RuntimeException e) {
+            if (!isRefusal(e)) {
+                logger.warn("Cross-shard transfer {} is pending: {}", saga.getId(), e.getMessage());
+                throw new RuntimeException("Transfer is pending and will complete or be reversed automatically");
+            }
+            if (reverse(fromShard, toShard, saga)) {
+                throw new RuntimeException("Transfer was reversed: " + e.getMessage());
+            }
+            return "Transfer completed successfully";
+        }
+
+        try {
+            shardRouter.runOn(fromShard, () -> retryingExecutor.execute(fromAccountNumber,
+                    () -> transactionTemplate.execute(status -> complete(saga.getId()))));
+        } catch (RuntimeException e) {
+            // The money has moved; recovery finds the credit and completes the saga
+            logger.warn("Could not mark cross-shard transfer {} completed: {}", saga.getId(), e.getMessage());
+        }
+        return "Transfer completed successfully";
+    }
+
+    private Void debit(CrossShardTransfer saga, String description) {
+        Account fromAccount = accountRepository.findByAccountNumber(saga.getFromAccountNumber())
+                .orElseThrow(() -> new ResourceNotFoundException("Source account not found"));
+
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (!currentUser.getRole().equals(Role.ADMIN) && !fromAccount.getUser().getId().equals(currentUser.getId())) {
+            throw new AccountAccessDeniedException("Access denied: You can only transfer from your own account");
+        }
+
+        if (fromAccount.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("One or both accounts are not active");
+        }
+
+        if (fromAccount.getBalance().compareTo(saga.getAmount()) < 0) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+
+        BigDecimal newBalance = fromAccount.getBalance().subtract(saga.getAmount());
+        fromAccount.setBalance(newBalance);
+        accountRepository.save(fromAccount);
+
+        Transaction debitTransaction = new Transaction(saga.getAmount(), TransactionType.TRANSFER_OUT,
+                description != null ? description : "Transfer to " + saga.getToAccountNumber(), fromAccount, newBalance);
+        debitTransaction.setToAccountNumber(saga.getToAccountNumber());
+        transactionRepository.save(debitTransaction);
+
+        // A fresh instance per attempt; a retried transaction must not reuse one persisted by a rolled-back attempt
+        crossShardTransferRepository.save(new CrossShardTransfer(saga.getId(), saga.getFromAccountNumber(),
+                saga.getToAccountNumber(), saga.getAmount(), CrossShardTransfer.State.DEBITED));
+        return null;
+    }
+
+    private Void credit(CrossShardTransfer saga) {
+        CrossShardTransfer existing = crossShardTransferRepository.findById(saga.getId()).orElse(null);
+        if (existing != null) {
+            if (existing.getState() == CrossShardTransfer.State.COMPENSATED) {
+                throw new RuntimeException("Transfer was already reversed");
+            }
+            return null;
+        }
+
+        Account toAccount = accountRepository.findByAccountNumber(saga.getToAccountNumber())
+                .orElseThrow(() -> new ResourceNotFoundException("Destination account not found"));
+
+        if (toAccount.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("One or both accounts are not active");
+        }
+
+        BigDecimal newBalance = toAccount.getBalance().add(saga.getAmount());
+        toAccount.setBalance(newBalance);
+        accountRepository.save(toAccount);
+
+        Transaction creditTransaction = new Transaction(saga.getAmount(), TransactionType.TRANSFER_IN,
+                "Transfer from " + saga.getFromAccountNumber(), toAccount, newBalance);
+        creditTransaction.setFromAccountNumber(saga.getFromAccountNumber());
+        transactionRepository.save(creditTransaction);
+
+        crossShardTransferRepository.save(new CrossShardTransfer(saga.getId(), saga.getFromAccountNumber(),
+                saga.getToAccountNumber(), saga.getAmount(), CrossShardTransfer.State.CREDITED));
+        return null;
+    }
+
+    /**
+     * Settles a saga whose credit was refused. A COMPENSATED marker is written
+     * under the saga id on the destination shard first, so a credit still in
+     * flight (from recovery) can no longer apply; if the credit got there
+     * first the saga is completed instead. Returns whether it was reversed.
+     */
+    private boolean reverse(int fromShard, int toShard, CrossShardTransfer saga) {
+        boolean reversed = shardRouter.callOn(toShard, () -> transactionTemplate.execute(status -> fence(saga)));
+        if (reversed) {
+            shardRouter.runOn(fromShard, () -> retryingExecutor.execute(saga.getFromAccountNumber(),
+                    () -> transactionTemplate.execute(status -> compensate(saga.getId()))));
+        } else {
+            shardRouter.runOn(fromShard, () -> retryingExecutor.execute(saga.getFromAccountNumber(),
+                    () -> transactionTemplate.execute(status -> complete(saga.getId()))));
+        }
+        return reversed;
+    }
+
+    private boolean fence(CrossShardTransfer saga) {
+        CrossShardTransfer existing = crossShardTransferRepository.findById(saga.getId()).orElse(null);
+        if (existing != null) {
+            return existing.getState() == CrossShardTransfer.State.COMPENSATED;
+        }
+
+        crossShardTransferRepository.save(new CrossShardTransfer(saga.getId(), saga.getFromAccountNumber(),
+                saga.getToAccountNumber(), saga.getAmount(), CrossShardTransfer.State.COMPENSATED));
+        return true;
+    }
+
+    private Void compensate(String sagaId) {
+        CrossShardTransfer saga = crossShardTransferRepository.findById(sagaId)
+                .orElseThrow(() -> new RuntimeException("Unknown cross-shard transfer " + sagaId));
+        if (saga.getState() != CrossShardTransfer.State.DEBITED) {
+            return null;
+        }
+
+        Account fromAccount = accountRepository.findByAccountNumber(saga.getFromAccountNumber())
+                .orElseThrow(() -> new ResourceNotFoundException("Source account not found"));
+
+        // Refunded regardless of the account's status: the debit must not stand without its credit
+        BigDecimal newBalance = fromAccount.getBalance().add(saga.getAmount());
+        fromAccount.setBalance(newBalance);
+        accountRepository.save(fromAccount);
+
+        Transaction reversal = new Transaction(saga.getAmount(), TransactionType.TRANSFER_IN,
+                "Reversal of transfer to " + saga.getToAccountNumber(), fromAccount, newBalance);
+        reversal.setFromAccountNumber(saga.getToAccountNumber());
+        transactionRepository.save(reversal);
+
+        saga.setState(CrossShardTransfer.State.COMPENSATED);
+        crossShardTransferRepository.save(saga);
+        return null;
+    }
+
+    private Void complete(String sagaId) {
+        CrossShardTransfer saga = crossShardTransferRepository.findById(sagaId)
+                .orElseThrow(() -> new RuntimeException("Unknown cross-shard transfer " + sagaId));
+        if (saga.getState() == CrossShardTransfer.State.DEBITED) {
+            saga.setState(CrossShardTransfer.State.COMPLETED);
+            crossShardTransferRepository.save(saga);
+        }
+        return null;
+    }
+
+    private void recoverStalled() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(sagaTimeoutSeconds);
+
+        for (int shard : shardRouter.shardIds()) {
+            try {
+                for (CrossShardTransfer saga : shardRouter.callOn(shard, () -> crossShardTransferRepository
+                        .findByStateAndUpdatedAtBefore(CrossShardTransfer.State.DEBITED, cutoff))) {
+                    recover(shard, saga);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Cross-shard recovery on shard {} failed: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    // The credit is idempotent on the saga id, so retrying it is safe whether or not it happened;
+    // a failure here leaves the saga DEBITED for the next sweep
+    private void recover(int fromShard, CrossShardTransfer saga) {
+        int toShard = shardRouter.shardFor(saga.getToAccountNumber());
+        try {
+            shardRouter.runOn(toShard, () -> retryingExecutor.execute(saga.getToAccountNumber(),
+                    () -> transactionTemplate.execute(status -> credit(saga))));
+        } catch (RuntimeException e) {
+            if (!isRefusal(e)) {
+                logger.warn("Cross-shard transfer {} still pending: {}", saga.getId(), e.getMessage());
+                return;
+            }
+            if (reverse(fromShard, toShard, saga)) {
+                logger.info("Reversed stalled cross-shard transfer {}: {}", saga.getId(), e.getMessage());
+            } else {
+                logger.info("Completed stalled cross-shard transfer {}", saga.getId());
+            }
+            return;
+        }
+
+        shardRouter.runOn(fromShard, () -> retryingExecutor.execute(saga.getFromAccountNumber(),
+                () -> transactionTemplate.execute(status -> complete(saga.getId()))));
+        logger.info("Completed stalled cross-shard transfer {}", saga.getId());
+    }
+
+    // Business refusals are definite; database failures leave the credit's outcome unknown
+    private static boolean isRefusal(RuntimeException e) {
+        return !(e instanceof DataAccessException) && !(e instanceof TransactionException);
+    }
+}
@@ -0,0 +1,71 @@
+package com.banking.service;
+
+import com.banking.model.AccountDailySummary;
+import com.banking.model.Transaction;
+import com.banking.repository.AccountDailySummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@link AccountDailySummary} rows from the transactions written in
+ * each database transaction, folded in just before commit (see
+ * {@link TransactionWriteBuffer}). A batch touching one account many times
+ * costs one summary update, and a rollback leaves the summaries untouched.
+ *
+ * Writers of the same account are already serialized (by the account row lock
+ * or, in event-sourced mode, by the journal sequence), so summaries are applied
+ * in commit order. The in-memory ledger's write-behind can persist postings out
+ * of order, so a posting with a ledger sequence only sets the closing balance
+ * when its sequence is higher than that of the posting that last set it.
+ */
+@Component
+public class DailySummaryProjector implements TransactionWriteHandler {
+
+    @Autowired
+    private AccountDailySummaryRepository summaryRepository;
+
+    @Override
+    public void onTransactionsWritten(List<Transaction> transactions) {
+        Map<LocalDate, Map<Long, List<Transaction>>> byDate = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            byDate.computeIfAbsent(transaction.getTransactionDate().toLocalDate(), date -> new LinkedHashMap<>())
+                    .computeIfAbsent(transaction.getAccount().getId(), accountId -> new ArrayList<>())
+                    .add(transaction);
+        }
+
+        List<AccountDailySummary> summaries = new ArrayList<>();
+        for (Map.Entry<LocalDate, Map<Long, List<Transaction>>> day : byDate.entrySet()) {
+            Map<Long, AccountDailySummary> existing = new HashMap<>(summaryRepository
+                    .findByAccountIdInAndBusinessDate(day.getValue().keySet(), day.getKey()).stream()
+                    .collect(Collectors.toMap(AccountDailySummary::getAccountId, summary -> summary)));
+
+            for (Map.Entry<Long, List<Transaction>> account : day.getValue().entrySet()) {
+                AccountDailySummary summary = existing.computeIfAbsent(account.getKey(),
+                        accountId -> new AccountDailySummary(accountId, day.getKey()));
+                for (Transaction transaction : account.getValue()) {
+                    summary.apply(transaction.getType(), transaction.getAmount(), transaction.getBalanceAfter(),
+                            transaction.getSequence());
+                }
+                summaries.add(summary);
+            }
+        }
+
+        // Flush here so two writers creating the same day surface as a retryable conflict, not a commit failure
+        try {
+            summaryRepository.saveAll(summaries);
+            summaryRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new OptimisticLockingFailureException("Concurrent update of a daily account summary", e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.banking.service;
+
+import com.banking.dto.AccountBalance;
+import com.banking.exception.InsufficientBalanceException;
+import com.banking.model.Account;
+import com.banking.model.BalanceSnapshot;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.BalanceSnapshotRepository;
+import com.banking.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Optional event-sourced ledger. Every deposit, withdrawal and transfer leg is
+ * appended as an immutable {@link Transaction} carrying the next per-account
+ * sequence number, and account rows are never updated. The balance is the
+ * latest {@link BalanceSnapshot} plus the entries after it; a snapshot is
+ * written every N entries, so a read replays at most N rows.
+ *
+ * Every journaled account has a snapshot: one is written at startup for each
+ * account without one, holding its current balance at its highest sequence,
+ * and a new account gets one at sequence 0 with its first entry. The account
+ * row's balance is therefore never read while the mode is on. When the mode
+ * is off, startup writes each snapshotted account's replayed balance back to
+ * its row and drops the snapshots, so the switch works in both directions;
+ * every instance must restart in the same mode.
+ *
+ * Two writers that append the same sequence number collide on the unique key
+ * (account_id, ledger_sequence); the loser fails with an optimistic locking
+ * exception and is retried by {@link RetryingExecutor} from a fresh replay.
+ * All methods must run inside a transaction.
+ */
+@Component
+public class EventSourcedLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSourcedLedger.class);
+
+    // Entry types that add to the balance, see signedAmount
+    private static final Set<TransactionType> CREDITS = EnumSet.of(TransactionType.DEPOSIT, TransactionType.TRANSFER_IN);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InMemoryLedger inMemoryLedger;
+
+    @Value("${banking.ledger.event-sourced.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.ledger.event-sourced.snapshot-interval:100}")
+    private int snapshotInterval;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            projectBalances();
+            return;
+        }
+
+        if (inMemoryLedger.isEnabled()) {
+            throw new IllegalStateException("The in-memory and event-sourced ledgers cannot both be enabled");
+        }
+        if (snapshotInterval < 1) {
+            throw new IllegalStateException("banking.ledger.event-sourced.snapshot-interval must be positive");
+        }
+        seedSnapshots();
+        logger.info("Event-sourced ledger enabled (snapshot every {} entries)", snapshotInterval);
+    }
+
+    /**
+     * Snapshots every account that has none at its current balance, so replay
+     * starts from there instead of the account row. The row is current after
+     * plain JPA postings; after journal postings the latest one holds the balance.
+     */
+    private void seedSnapshots() {
+        Integer seeded = transactionTemplate.execute(status -> {
+            List<Account> accounts = accountRepository.findWithoutBalanceSnapshot();
+            for (Account account : accounts) {
+                Long sequence = transactionRepository.findMaxSequence(account.getId());
+                BigDecimal balance = account.getBalance() != null ? account.getBalance() : BigDecimal.ZERO;
+                boolean journalLast = transactionRepository.findFirstByAccountIdOrderByIdDesc(account.getId())
+                        .map(latest -> latest.getSequence() != null)
+                        .orElse(false);
+                if (journalLast) {
+                    balance = transactionRepository.findByAccountIdAndSequence(account.getId(), sequence)
+                            .map(Transaction::getBalanceAfter)
+                            .orElse(balance);
+                }
+                snapshotRepository.save(new BalanceSnapshot(account, sequence != null ? sequence : 0L, balance));
+            }
+            return accounts.size();
+        });
+        if (seeded > 0) {
+            logger.info("Seeded balance snapshots for {} accounts", seeded);
+        }
+    }
+
+    // Writes replayed balances back to the account rows after the mode was switched off
+    private void projectBalances() {
+        Integer projected = transactionTemplate.execute(status -> {
+            List<Long> accountIds = snapshotRepository.findAccountIds();
+            for (Long accountId : accountIds) {
+                accountRepository.updateBalance(accountId, replay(accountId, BigDecimal.ZERO).balance());
+            }
+            snapshotRepository.deleteAllInBatch();
+            return accountIds.size();
+        });
+        if (projected > 0) {
+            logger.info("Event-sourced ledger is off; projected journal balances onto {} accounts", projected);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public BigDecimal getBalance(Account account) {
+        return replay(account).balance();
+    }
+
+    // For projections that carry the account id and the stored (opening) balance rather than an entity
+    public BigDecimal getBalance(Long accountId, BigDecimal openingBalance) {
+        return replay(accountId, openingBalance).balance();
+    }
+
+    // One statement for a page or chunk of accounts; accounts without a snapshot are absent from the map
+    public Map<Long, BigDecimal> getBalances(Collection<Long> accountIds) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return balances;
+        }
+        for (AccountBalance balance : snapshotRepository.findJournalBalances(accountIds, CREDITS)) {
+            balances.put(balance.getAccountId(), balance.getBalance());
+        }
+        return balances;
+    }
+
+    public Transaction deposit(Account account, BigDecimal amount, String description) {
+        Journal journal = new Journal();
+        Transaction entry = journal.append(account, replay(account), TransactionType.DEPOSIT, amount, description);
+        journal.write();
+        return entry;
+    }
+
+    public Transaction withdraw(Account account, BigDecimal amount, String description) {
+        JournalState state = replay(account);
+        if (state.balance().compareTo(amount) < 0) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+
+        Journal journal = new Journal();
+        Transaction entry = journal.append(account, state, TransactionType.WITHDRAWAL, amount, description);
+        journal.write();
+        return entry;
+    }
+
+    public void transfer(Account fromAccount, Account toAccount, BigDecimal amount, String description) {
+        JournalState fromState = replay(fromAccount);
+        if (fromState.balance().compareTo(amount) < 0) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+
+        Journal journal = new Journal();
+        Transaction debitTransaction = journal.append(fromAccount, fromState, TransactionType.TRANSFER_OUT, amount,
+                description != null ? description : "Transfer to " + toAccount.getAccountNumber());
+        debitTransaction.setToAccountNumber(toAccount.getAccountNumber());
+
+        Transaction creditTransaction = journal.append(toAccount, replay(toAccount), TransactionType.TRANSFER_IN, amount,
+                "Transfer from " + fromAccount.getAccountNumber());
+        creditTransaction.setFromAccountNumber(fromAccount.getAccountNumber());
+
+        journal.write();
+    }
+
+    private JournalState replay(Account account) {
+        return replay(account.getId(), account.getBalance());
+    }
+
+    private JournalState replay(Long accountId, BigDecimal openingBalance) {
+        Optional<BalanceSnapshot> snapshot = snapshotRepository.findFirstByAccountIdOrderBySequenceDesc(accountId);
+        long sequence = snapshot.map(BalanceSnapshot::getSequence).orElse(0L);
+        BigDecimal balance = snapshot.map(BalanceSnapshot::getBalance).orElse(openingBalance);
+
+        for (Transaction entry : transactionRepository.findJournalAfter(accountId, sequence)) {
+            balance = balance.add(signedAmount(entry.getType(), entry.getAmount()));
+            sequence = entry.getSequence();
+        }
+
+        return new JournalState(sequence, balance, snapshot.isPresent());
+    }
+
+    private static BigDecimal signedAmount(TransactionType type, BigDecimal amount) {
+        return switch (type) {
+            case DEPOSIT, TRANSFER_IN -> amount;
+            case WITHDRAWAL, TRANSFER_OUT -> amount.negate();
+        };
+    }
+
+    private record JournalState(long sequence, BigDecimal balance, boolean snapshotted) {}
+
+    // Entries and snapshots of one unit of work, written and flushed together
+    private final class Journal {
+        private final List<Transaction> entries = new ArrayList<>(2);
+        private final List<BalanceSnapshot> snapshots = new ArrayList<>(1);
+
+        Transaction append(Account account, JournalState state, TransactionType type, BigDecimal amount,
+                           String description) {
+            long sequence = state.sequence() + 1;
+            BigDecimal balanceAfter = state.balance().add(signedAmount(type, amount));
+
+            Transaction entry = new Transaction(amount, type, description, account, balanceAfter);
+            entry.setSequence(sequence);
+            entries.add(entry);
+
+            // An account created while the mode is on: keep its opening balance out of the account row
+            if (!state.snapshotted()) {
+                snapshots.add(new BalanceSnapshot(account, state.sequence(), state.balance()));
+            }
+
+            if (sequence % snapshotInterval == 0) {
+                snapshots.add(new BalanceSnapshot(account, sequence, balanceAfter));
+            }
+            return entry;
+        }
+
+        void write() {
+            // Flush here so a sequence collision surfaces as a retryable conflict, not a commit failure
+            try {
+                transactionRepository.saveAll(entries);
+                snapshotRepository.saveAll(snapshots);
+                transactionRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                throw new OptimisticLockingFailureException("Concurrent append to the account journal", e);
+            }
+        }
+    }
+}
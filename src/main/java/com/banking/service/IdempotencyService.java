@@ -0,0 +1,186 @@
+package com.banking.service;
+
+import com.banking.model.IdempotencyRecord;
+import com.banking.model.User;
+import com.banking.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Makes money-moving requests safe to retry. The first request with a given
+ * Idempotency-Key claims a row in idempotency_keys (unique per user), runs the
+ * operation and stores its response; repeats are answered from a Caffeine cache
+ * or that row without reaching the ledger or any account row.
+ *
+ * A failed operation releases its claim so the client can retry it. If the
+ * process dies between the operation and storing its response, the claim stays
+ * open and repeats are refused rather than applied twice.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${banking.idempotency.cache-max-size:100000}")
+    private long cacheMaxSize;
+
+    @Value("${banking.idempotency.cache-ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    @Value("${banking.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    // Completed outcomes keyed by "userId:key"
+    private Cache<String, IdempotencyRecord> completed;
+
+    private ScheduledExecutorService purger;
+
+    @PostConstruct
+    public void init() {
+        completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeExpired, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        purger.shutdownNow();
+    }
+
+    /**
+     * Runs the operation once per key. Without a key the operation simply runs.
+     * The request fingerprint ties the key to one operation and payload.
+     */
+    public <T> T execute(String idempotencyKey, String fingerprint, Class<T> responseType, Supplier<T> operation) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return operation.get();
+        }
+
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        String cacheKey = currentUser.getId() + ":" + idempotencyKey;
+        String requestHash = sha256(fingerprint);
+
+        IdempotencyRecord cached = completed.getIfPresent(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        IdempotencyRecord claim;
+        try {
+            claim = idempotencyRecordRepository.saveAndFlush(
+                    new IdempotencyRecord(currentUser.getId(), idempotencyKey, requestHash));
+        } catch (DataIntegrityViolationException e) {
+            IdempotencyRecord existing = idempotencyRecordRepository
+                    .findByUserIdAndIdempotencyKey(currentUser.getId(), idempotencyKey)
+                    .orElseThrow(() -> new RuntimeException("Idempotency-Key conflict, please retry"));
+            if (existing.isCompleted()) {
+                completed.put(cacheKey, existing);
+            }
+            return replay(existing, requestHash, responseType);
+        }
+
+        T response;
+        try {
+            response = operation.get();
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.deleteById(claim.getId());
+            throw e;
+        }
+
+        try {
+            claim.setResponseBody(objectMapper.writeValueAsString(response));
+            claim.setCompleted(true);
+            idempotencyRecordRepository.save(claim);
+            completed.put(cacheKey, claim);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The operation did happen; leave the claim open so repeats are refused, not re-applied
+            logger.error("Could not store outcome for Idempotency-Key {}: {}", idempotencyKey, e.getMessage());
+        }
+        return response;
+    }
+
+    private <T> T replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new RuntimeException("Idempotency-Key was already used for a different request");
+        }
+
+        if (!record.isCompleted()) {
+            throw new RuntimeException("A request with this Idempotency-Key is still in progress");
+        }
+
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Stored response for Idempotency-Key is unreadable");
+        }
+    }
+
+    // Keys are stored on the shard of the account the request addressed
+    private void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        for (int shard : shardRouter.shardIds()) {
+            try {
+                int purged = shardRouter.callOn(shard, () -> idempotencyRecordRepository.deleteCreatedBefore(cutoff));
+                if (purged > 0) {
+                    logger.debug("Purged {} expired idempotency keys", purged);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Idempotency key purge failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,599 @@
+package com.banking.service;
+
+import com.banking.dto.TransactionResponse;
+import com.banking.exception.AccountNotActiveException;
+import com.banking.exception.InsufficientBalanceException;
+import com.banking.exception.ResourceNotFoundException;
+import com.banking.exception.ServiceOverloadedException;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Optional in-memory balance ledger. Balances are held per account number and
+ * updated with compare-and-set, so deposits, withdrawals and transfers never
+ * block on a database row. The resulting transaction rows and balance snapshots
+ * are written to the database in the background by a single write-behind thread.
+ *
+ * With the journal enabled, each posting is also written to the local
+ * {@link LedgerJournal} and acknowledged only once it is on disk; journal
+ * segments that the write-behind thread has not yet persisted are replayed
+ * into the database on startup.
+ */
+@Component
+public class InMemoryLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryLedger.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LedgerJournal journal;
+
+    @Value("${banking.ledger.in-memory.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.ledger.in-memory.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${banking.ledger.in-memory.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.ledger.in-memory.max-attempts:5}")
+    private int maxAttempts;
+
+    private final ConcurrentHashMap<String, LedgerAccount> accounts = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Posting> pending = new ConcurrentLinkedQueue<>();
+
+    // Postings out of attempts that are still being retried; no new postings are accepted meanwhile
+    private final AtomicInteger stuckPostings = new AtomicInteger();
+
+    // Serializes apply-and-write so each account's postings reach the journal in sequence order
+    private final ReentrantLock journalLock = new ReentrantLock();
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        recover();
+
+        if (journal.isEnabled()) {
+            replayJournal();
+            journal.open();
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("In-memory ledger enabled (flush interval {} ms, batch size {})", flushIntervalMs, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LedgerAccount getAccount(String accountNumber) {
+        LedgerAccount cached = accounts.get(accountNumber);
+        if (cached != null) {
+            return cached;
+        }
+
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
+
+        // Postings carry a durable per-account sequence, so continue from the last persisted one
+        Long lastSequence = transactionRepository.findMaxSequence(account.getId());
+        long baseSequence = lastSequence != null ? lastSequence : 0;
+
+        return accounts.computeIfAbsent(accountNumber, key -> new LedgerAccount(account, baseSequence));
+    }
+
+    // Balance of a resident account; accounts never loaded here have no pending postings, so the stored one is current
+    public BigDecimal getBalance(String accountNumber, BigDecimal storedBalance) {
+        LedgerAccount cached = accounts.get(accountNumber);
+        return cached != null ? cached.getBalance() : storedBalance;
+    }
+
+    // Status changes of the account row apply once committed, so a frozen or closed account stops transacting here too
+    public void onAccountUpdated(Account account) {
+        String accountNumber = account.getAccountNumber();
+        AccountStatus status = account.getStatus();
+        Runnable apply = () -> {
+            LedgerAccount cached = accounts.get(accountNumber);
+            if (cached != null) {
+                cached.status = status;
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    public TransactionResponse deposit(LedgerAccount account, BigDecimal amount, String description) {
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("Account is not active");
+        }
+
+        long cents = toCents(amount);
+        List<Posting> postings = post(() -> List.of(new Posting(account, amount, TransactionType.DEPOSIT,
+                description != null ? description : "Deposit", account.apply(cents))));
+
+        return postings.get(0).toResponse();
+    }
+
+    public TransactionResponse withdraw(LedgerAccount account, BigDecimal amount, String description) {
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("Account is not active");
+        }
+
+        long cents = toCents(amount);
+        List<Posting> postings = post(() -> List.of(new Posting(account, amount, TransactionType.WITHDRAWAL,
+                description != null ? description : "Withdrawal", account.apply(-cents))));
+
+        return postings.get(0).toResponse();
+    }
+
+    public void transfer(LedgerAccount fromAccount, LedgerAccount toAccount, BigDecimal amount, String description) {
+        if (fromAccount.getStatus() != AccountStatus.ACTIVE || toAccount.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("One or both accounts are not active");
+        }
+
+        if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
+            throw new RuntimeException("Cannot transfer to the same account");
+        }
+
+        long cents = toCents(amount);
+
+        post(() -> {
+            // Debit first so a failed balance check leaves the destination untouched
+            State fromState = fromAccount.apply(-cents);
+            State toState = toAccount.apply(cents);
+
+            Posting debit = new Posting(fromAccount, amount, TransactionType.TRANSFER_OUT,
+                    description != null ? description : "Transfer to " + toAccount.getAccountNumber(), fromState);
+            debit.toAccountNumber = toAccount.getAccountNumber();
+
+            Posting credit = new Posting(toAccount, amount, TransactionType.TRANSFER_IN,
+                    "Transfer from " + fromAccount.getAccountNumber(), toState);
+            credit.fromAccountNumber = fromAccount.getAccountNumber();
+
+            return List.of(debit, credit);
+        });
+    }
+
+    private List<Posting> post(Supplier<List<Posting>> mutation) {
+        if (stuckPostings.get() > 0) {
+            throw new ServiceOverloadedException("Ledger is not accepting postings until a failed posting is stored",
+                    HttpStatus.SERVICE_UNAVAILABLE, Math.max(1, TimeUnit.MILLISECONDS.toSeconds(flushIntervalMs)));
+        }
+
+        if (!journal.isEnabled()) {
+            List<Posting> postings = mutation.get();
+            pending.addAll(postings);
+            return postings;
+        }
+
+        List<Posting> postings;
+        LedgerJournal.Ticket ticket;
+        journalLock.lock();
+        try {
+            postings = mutation.get();
+            try {
+                ticket = journal.write(postings.stream().map(Posting::toEntry).collect(Collectors.toList()));
+            } catch (RuntimeException e) {
+                // Nothing else can have touched these accounts under the lock, so restore them exactly
+                for (int i = postings.size() - 1; i >= 0; i--) {
+                    postings.get(i).undo();
+                }
+                throw e;
+            }
+
+            for (Posting posting : postings) {
+                posting.ticket = ticket;
+            }
+            pending.addAll(postings);
+        } finally {
+            journalLock.unlock();
+        }
+
+        // Acknowledge once the frame is on disk; writers waiting together share one fsync
+        try {
+            journal.awaitDurable(ticket);
+        } catch (RuntimeException e) {
+            // The postings are applied and queued, and later postings may already build on them, so
+            // they cannot be failed; the journal now refuses further writes and these are acknowledged
+            // once the write-behind has stored them instead
+            logger.error("Ledger journal sync failed, acknowledging {} postings once they are stored",
+                    postings.size(), e);
+            awaitStored(postings);
+        }
+        return postings;
+    }
+
+    private void awaitStored(List<Posting> postings) {
+        boolean interrupted = false;
+        while (!postings.stream().allMatch(p -> p.stored)) {
+            try {
+                Thread.sleep(flushIntervalMs);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Rebuilds account balances from the balance_after column of the latest
+     * persisted transaction of each account, then drops any cached state.
+     * Write-behind batches can land out of order, so when the newest row is a
+     * ledger posting the one with the highest ledger sequence wins instead.
+     */
+    public void recover() {
+        Integer recovered = transactionTemplate.execute(status -> {
+            Map<Long, Transaction> latestPostings = transactionRepository.findLatestSequencedPerAccount().stream()
+                    .collect(Collectors.toMap(t -> t.getAccount().getId(), t -> t, (a, b) -> a));
+            int count = 0;
+            for (Transaction latest : transactionRepository.findLatestPerAccount()) {
+                Long accountId = latest.getAccount().getId();
+                Transaction source = latest.getSequence() != null
+                        ? latestPostings.getOrDefault(accountId, latest)
+                        : latest;
+                count += accountRepository.updateBalance(accountId, source.getBalanceAfter());
+            }
+            return count;
+        });
+        accounts.clear();
+
+        logger.info("Ledger recovery restored balances for {} accounts", recovered);
+    }
+
+    /**
+     * Inserts journaled postings the write-behind thread never persisted and
+     * sets each affected account to the balance after its latest posting. Runs
+     * before the journal is reopened, which discards the replayed segments.
+     */
+    private void replayJournal() {
+        List<LedgerJournal.Entry> entries = journal.readExisting();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<LedgerJournal.Entry>> byAccount = entries.stream()
+                .collect(Collectors.groupingBy(LedgerJournal.Entry::accountId));
+
+        Integer replayed = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Map.Entry<Long, List<LedgerJournal.Entry>> account : byAccount.entrySet()) {
+                long firstSequence = account.getValue().stream().mapToLong(LedgerJournal.Entry::sequence).min().orElse(0);
+                Set<Long> persisted = new HashSet<>(
+                        transactionRepository.findSequencesFrom(account.getKey(), firstSequence));
+
+                for (LedgerJournal.Entry entry : account.getValue()) {
+                    if (persisted.add(entry.sequence())) {
+                        transactionRepository.save(toTransaction(entry));
+                        count++;
+                    }
+                }
+            }
+            transactionRepository.flush();
+
+            for (Long accountId : byAccount.keySet()) {
+                Long lastSequence = transactionRepository.findMaxSequence(accountId);
+                transactionRepository.findByAccountIdAndSequence(accountId, lastSequence)
+                        .ifPresent(latest -> accountRepository.updateBalance(accountId, latest.getBalanceAfter()));
+            }
+            return count;
+        });
+
+        logger.info("Journal replay persisted {} of {} postings across {} accounts",
+                replayed, entries.size(), byAccount.size());
+    }
+
+    private Transaction toTransaction(LedgerJournal.Entry entry) {
+        Transaction transaction = new Transaction(
+                fromCents(entry.amountCents()),
+                entry.type(),
+                entry.description(),
+                accountRepository.getReferenceById(entry.accountId()),
+                fromCents(entry.balanceAfterCents())
+        );
+        transaction.setTransactionDate(entry.transactionDate());
+        if (entry.type() == TransactionType.TRANSFER_OUT) {
+            transaction.setToAccountNumber(entry.counterparty());
+        } else if (entry.type() == TransactionType.TRANSFER_IN) {
+            transaction.setFromAccountNumber(entry.counterparty());
+        }
+        transaction.setSequence(entry.sequence());
+        return transaction;
+    }
+
+    public void flush() {
+        List<Posting> batch = new ArrayList<>(batchSize);
+        Posting posting;
+        while ((posting = pending.poll()) != null) {
+            batch.add(posting);
+            if (batch.size() == batchSize) {
+                if (!persist(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            persist(batch);
+        }
+    }
+
+    private boolean persist(List<Posting> batch) {
+        // Per account, rows are inserted in the order the balances were applied
+        batch.sort(Comparator.comparing((Posting p) -> p.accountId).thenComparingLong(p -> p.seq));
+
+        Map<Long, Posting> latest = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Posting p : batch) {
+                    Transaction transaction = new Transaction(
+                            p.amount,
+                            p.type,
+                            p.description,
+                            accountRepository.getReferenceById(p.accountId),
+                            p.balanceAfter
+                    );
+                    transaction.setTransactionDate(p.transactionDate);
+                    transaction.setToAccountNumber(p.toAccountNumber);
+                    transaction.setFromAccountNumber(p.fromAccountNumber);
+                    transaction.setSequence(p.seq);
+                    transactionRepository.save(transaction);
+                    latest.put(p.accountId, p);
+                }
+
+                for (Posting p : latest.values()) {
+                    if (p.seq > p.owner.persistedSeq) {
+                        accountRepository.updateBalance(p.accountId, p.balanceAfter);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            return handleFailure(batch, e);
+        }
+
+        for (Posting p : latest.values()) {
+            p.owner.persistedSeq = Math.max(p.owner.persistedSeq, p.seq);
+        }
+        for (Posting p : batch) {
+            p.stored = true;
+            if (p.ticket != null) {
+                journal.release(p.ticket, 1);
+            }
+            if (p.stuck && stuckPostings.decrementAndGet() == 0) {
+                logger.info("Failed postings are stored, the ledger accepts postings again");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Requeues a failed batch. Connection-level failures are retried without
+     * limit. Any other failure counts against each posting; once a batch has
+     * used up max-attempts it is split in halves, so one bad posting cannot
+     * hold back the rest. A single posting out of attempts has already been
+     * acknowledged and counted in the balance, so it is never dropped: it stays
+     * queued, keeps its journal segment, and is retried every flush while the
+     * ledger refuses new postings until it is stored.
+     */
+    private boolean handleFailure(List<Posting> batch, Exception e) {
+        boolean transientFailure = e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+        if (transientFailure) {
+            logger.error("Write-behind flush of {} postings failed, will retry: {}", batch.size(), e.getMessage());
+            pending.addAll(batch);
+            return false;
+        }
+
+        boolean exhausted = true;
+        for (Posting p : batch) {
+            p.attempts++;
+            exhausted &= p.attempts >= maxAttempts;
+        }
+        if (!exhausted) {
+            logger.error("Write-behind flush of {} postings failed, will retry: {}", batch.size(), e.getMessage());
+            pending.addAll(batch);
+            return false;
+        }
+
+        if (batch.size() > 1) {
+            int middle = batch.size() / 2;
+            boolean first = persist(new ArrayList<>(batch.subList(0, middle)));
+            boolean second = persist(new ArrayList<>(batch.subList(middle, batch.size())));
+            return first && second;
+        }
+
+        Posting stuck = batch.get(0);
+        if (!stuck.stuck) {
+            stuck.stuck = true;
+            stuckPostings.incrementAndGet();
+            logger.error("Posting failed {} times, refusing new postings until it is stored: "
+                            + "account {} seq {} {} {} balance after {} at {} ({}): {}",
+                    stuck.attempts, stuck.accountId, stuck.seq, stuck.type, stuck.amount, stuck.balanceAfter,
+                    stuck.transactionDate, stuck.description, e.getMessage());
+        }
+        pending.add(stuck);
+        return false;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private record State(long cents, long seq) {}
+
+    public static final class LedgerAccount {
+        private final Long id;
+        private final String accountNumber;
+        private final Long userId;
+        private volatile AccountStatus status;
+        private final AtomicReference<State> state;
+        // Only touched by the write-behind thread
+        private long persistedSeq;
+
+        LedgerAccount(Account account, long baseSequence) {
+            this.id = account.getId();
+            this.accountNumber = account.getAccountNumber();
+            this.userId = account.getUser().getId();
+            this.status = account.getStatus();
+            this.state = new AtomicReference<>(new State(toCents(account.getBalance()), baseSequence));
+            this.persistedSeq = baseSequence;
+        }
+
+        State apply(long delta) {
+            while (true) {
+                State current = state.get();
+                long next = current.cents() + delta;
+                if (next < 0) {
+                    throw new InsufficientBalanceException("Insufficient balance");
+                }
+                State updated = new State(next, current.seq() + 1);
+                if (state.compareAndSet(current, updated)) {
+                    return updated;
+                }
+            }
+        }
+
+        public Long getId() { return id; }
+        public String getAccountNumber() { return accountNumber; }
+        public Long getUserId() { return userId; }
+        public AccountStatus getStatus() { return status; }
+        public BigDecimal getBalance() { return fromCents(state.get().cents()); }
+    }
+
+    private static final class Posting {
+        private final LedgerAccount owner;
+        private final Long accountId;
+        private final BigDecimal amount;
+        private final TransactionType type;
+        private final String description;
+        private final BigDecimal balanceAfter;
+        private final long seq;
+        private final LocalDateTime transactionDate = LocalDateTime.now();
+        private String toAccountNumber;
+        private String fromAccountNumber;
+        private LedgerJournal.Ticket ticket;
+        private volatile boolean stored;
+        // Only touched by the write-behind thread
+        private int attempts;
+        private boolean stuck;
+
+        Posting(LedgerAccount owner, BigDecimal amount, TransactionType type, String description, State state) {
+            this.owner = owner;
+            this.accountId = owner.getId();
+            this.amount = amount;
+            this.type = type;
+            this.description = description;
+            this.balanceAfter = fromCents(state.cents());
+            this.seq = state.seq();
+        }
+
+        LedgerJournal.Entry toEntry() {
+            return new LedgerJournal.Entry(accountId, seq, toCents(amount), toCents(balanceAfter), transactionDate,
+                    type, toAccountNumber != null ? toAccountNumber : fromAccountNumber, description);
+        }
+
+        // Only valid while no later posting can have been applied to the owner
+        void undo() {
+            long delta = type == TransactionType.DEPOSIT || type == TransactionType.TRANSFER_IN
+                    ? toCents(amount)
+                    : -toCents(amount);
+            owner.state.set(new State(toCents(balanceAfter) - delta, seq - 1));
+        }
+
+        TransactionResponse toResponse() {
+            return new TransactionResponse(null, amount, type, description, transactionDate,
+                    balanceAfter, toAccountNumber, fromAccountNumber);
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.banking.service;
+
+import com.banking.model.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Local write-ahead journal for the in-memory ledger. Postings are written as
+ * binary frames into a memory-mapped, preallocated segment file and are only
+ * acknowledged once the segment has been forced to disk. A single sync thread
+ * forces everything written since its previous pass, so writers that arrive
+ * during an fsync share the next one (group commit).
+ *
+ * <p>Frame layout: {@code int payloadLength, int crc32c, byte entryCount,
+ * entries...}. Each entry is a fixed 64-byte header ({@code long accountId,
+ * long sequence, long amountCents, long balanceAfterCents, long epochMicros,
+ * byte type, byte counterpartyLength, byte[20] counterparty, short
+ * descriptionLength}) followed by the UTF-8 description. A zero length or a CRC
+ * mismatch marks the end of the valid data in a segment, so a torn final frame
+ * is dropped as a whole, including both legs of a transfer.
+ *
+ * <p>Segments roll when full and are deleted once every entry in them has been
+ * persisted to the database.
+ */
+@Component
+public class LedgerJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerJournal.class);
+
+    private static final int FRAME_HEADER_BYTES = 9;
+    private static final int ENTRY_HEADER_BYTES = 64;
+    private static final int COUNTERPARTY_BYTES = 20;
+    // Descriptions are stored with a signed short length
+    private static final int MAX_DESCRIPTION_BYTES = Short.MAX_VALUE;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @Value("${banking.ledger.in-memory.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.ledger.in-memory.journal.directory:data/journal}")
+    private String directory;
+
+    @Value("${banking.ledger.in-memory.journal.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    // Guards the active segment and the written/durable positions
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dirty = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+
+    private Path journalDirectory;
+    private int segmentSize;
+    private Segment active;
+    private long writtenPosition;
+    private long durablePosition;
+    private volatile IOException failure;
+    private volatile boolean running;
+    private Thread syncer;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reads every entry of the existing segments, in write order. Must be
+     * called before {@link #open()}; once the entries are safely in the
+     * database, {@link #open()} discards the old segments.
+     */
+    public List<Entry> readExisting() {
+        List<Entry> entries = new ArrayList<>();
+        for (Path path : listSegments()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int frames = readFrames(buffer, entries);
+                logger.info("Journal segment {} holds {} frames", path.getFileName(), frames);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read journal segment " + path, e);
+            }
+        }
+        return entries;
+    }
+
+    public void open() {
+        journalDirectory = Paths.get(directory);
+        segmentSize = segmentSizeMb * 1024 * 1024;
+
+        long nextIndex = 0;
+        for (Path path : listSegments()) {
+            nextIndex = Math.max(nextIndex, segmentIndex(path) + 1);
+            delete(path);
+        }
+
+        lock.lock();
+        try {
+            active = createSegment(nextIndex);
+            writtenPosition = active.basePosition;
+            durablePosition = writtenPosition;
+        } finally {
+            lock.unlock();
+        }
+
+        running = true;
+        syncer = new Thread(this::syncLoop, "ledger-journal-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+        logger.info("Ledger journal open in {} ({} MB segments)", journalDirectory.toAbsolutePath(), segmentSizeMb);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        lock.lock();
+        try {
+            dirty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            syncer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        active.buffer.force();
+
+        // Nothing left to replay once write-behind has drained
+        if (active.outstanding.get() == 0) {
+            delete(active.path);
+        }
+    }
+
+    /**
+     * Copies the entries into the active segment as one frame and returns the
+     * position to pass to {@link #awaitDurable(Ticket)}. The entries are not
+     * durable until that call returns.
+     */
+    public Ticket write(List<Entry> entries) {
+        byte[] frame = encode(entries);
+
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new RuntimeException("Ledger journal is unavailable", failure);
+            }
+
+            // A frame that cannot fit even an empty segment would overflow the next one too
+            if (frame.length + Integer.BYTES > segmentSize) {
+                throw new RuntimeException("Journal frame of " + frame.length + " bytes exceeds the "
+                        + segmentSizeMb + " MB segment size");
+            }
+            if (active.buffer.remaining() < frame.length + Integer.BYTES) {
+                roll();
+            }
+
+            active.buffer.put(frame);
+            active.outstanding.addAndGet(entries.size());
+            writtenPosition = active.basePosition + active.buffer.position();
+            dirty.signal();
+            return new Ticket(active, writtenPosition);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void awaitDurable(Ticket ticket) {
+        lock.lock();
+        try {
+            while (durablePosition < ticket.position) {
+                if (failure != null) {
+                    throw new RuntimeException("Ledger journal sync failed", failure);
+                }
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that entries written under the ticket are now in the database.
+     * A sealed segment is deleted when its last entry has been released.
+     */
+    public void release(Ticket ticket, int entryCount) {
+        Segment segment = ticket.segment;
+        if (segment.outstanding.addAndGet(-entryCount) == 0 && segment.sealed) {
+            delete(segment.path);
+        }
+    }
+
+    // Called with the lock held when the active segment is full
+    private void roll() {
+        Segment previous = active;
+        try {
+            previous.buffer.force();
+            active = createSegment(previous.index + 1);
+        } catch (UncheckedIOException e) {
+            failure = e.getCause();
+            durable.signalAll();
+            throw new RuntimeException("Cannot roll ledger journal segment", e);
+        }
+
+        previous.sealed = true;
+        durablePosition = Math.max(durablePosition, writtenPosition);
+        writtenPosition = active.basePosition;
+        durablePosition = Math.max(durablePosition, writtenPosition);
+        durable.signalAll();
+
+        if (previous.outstanding.get() == 0) {
+            delete(previous.path);
+        }
+    }
+
+    private void syncLoop() {
+        while (running) {
+            MappedByteBuffer buffer;
+            long target;
+
+            lock.lock();
+            try {
+                while (running && writtenPosition == durablePosition) {
+                    dirty.awaitUninterruptibly();
+                }
+                buffer = active.buffer;
+                target = writtenPosition;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                buffer.force();
+            } catch (UncheckedIOException e) {
+                logger.error("Ledger journal fsync failed, refusing further postings", e);
+                failure = e.getCause();
+            }
+
+            lock.lock();
+            try {
+                if (failure == null) {
+                    durablePosition = Math.max(durablePosition, target);
+                }
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Segment createSegment(long index) {
+        Path path = journalDirectory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+        try {
+            Files.createDirectories(journalDirectory);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                return new Segment(index, path, buffer, index * segmentSize);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment " + path, e);
+        }
+    }
+
+    private List<Path> listSegments() {
+        Path path = Paths.get(directory);
+        if (!Files.isDirectory(path)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal directory " + path, e);
+        }
+    }
+
+    private static long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Cannot delete journal segment {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static byte[] encode(List<Entry> entries) {
+        List<byte[]> descriptions = new ArrayList<>(entries.size());
+        int payloadLength = 1;
+        for (Entry entry : entries) {
+            byte[] description = entry.description() != null
+                    ? entry.description().getBytes(StandardCharsets.UTF_8)
+                    : new byte[0];
+            if (description.length > MAX_DESCRIPTION_BYTES) {
+                throw new RuntimeException("Description is too long for the ledger journal ("
+                        + description.length + " bytes, at most " + MAX_DESCRIPTION_BYTES + ")");
+            }
+            descriptions.add(description);
+            payloadLength += ENTRY_HEADER_BYTES + description.length;
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES * 2 + payloadLength);
+        frame.putInt(payloadLength);
+        frame.putInt(0);
+        frame.put((byte) entries.size());
+
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            byte[] counterparty = entry.counterparty() != null
+                    ? entry.counterparty().getBytes(StandardCharsets.US_ASCII)
+                    : new byte[0];
+
+            frame.putLong(entry.accountId());
+            frame.putLong(entry.sequence());
+            frame.putLong(entry.amountCents());
+            frame.putLong(entry.balanceAfterCents());
+            frame.putLong(ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), entry.transactionDate()));
+            frame.put((byte) entry.type().ordinal());
+            frame.put((byte) counterparty.length);
+            frame.put(counterparty);
+            frame.position(frame.position() + COUNTERPARTY_BYTES - counterparty.length);
+            frame.putShort((short) descriptions.get(i).length);
+            frame.put(descriptions.get(i));
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(frame.array(), Integer.BYTES * 2, payloadLength);
+        frame.putInt(Integer.BYTES, (int) crc.getValue());
+        return frame.array();
+    }
+
+    private static int readFrames(ByteBuffer buffer, List<Entry> entries) {
+        int frames = 0;
+        while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+            int start = buffer.position();
+            int payloadLength = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+            if (payloadLength <= 0 || payloadLength > buffer.remaining()) {
+                break;
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(buffer.position(), payloadLength));
+            if ((int) crc.getValue() != expectedCrc) {
+                logger.warn("Journal frame at offset {} is torn, ignoring the rest of the segment", start);
+                break;
+            }
+
+            int entryCount = buffer.get();
+            for (int i = 0; i < entryCount; i++) {
+                entries.add(decodeEntry(buffer));
+            }
+            frames++;
+        }
+        return frames;
+    }
+
+    private static Entry decodeEntry(ByteBuffer buffer) {
+        long accountId = buffer.getLong();
+        long sequence = buffer.getLong();
+        long amountCents = buffer.getLong();
+        long balanceAfterCents = buffer.getLong();
+        long epochMicros = buffer.getLong();
+        TransactionType type = TYPES[buffer.get()];
+
+        byte[] counterparty = new byte[buffer.get()];
+        int counterpartyStart = buffer.position();
+        buffer.get(counterparty);
+        buffer.position(counterpartyStart + COUNTERPARTY_BYTES);
+
+        byte[] description = new byte[buffer.getShort()];
+        buffer.get(description);
+
+        LocalDateTime transactionDate = LocalDateTime.ofEpochSecond(
+                Math.floorDiv(epochMicros, 1_000_000L),
+                (int) Math.floorMod(epochMicros, 1_000_000L) * 1000,
+                ZoneOffset.UTC);
+
+        return new Entry(accountId, sequence, amountCents, balanceAfterCents, transactionDate, type,
+                counterparty.length > 0 ? new String(counterparty, StandardCharsets.US_ASCII) : null,
+                new String(description, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * One posting as stored in the journal. For transfers the counterparty is
+     * the other account number.
+     */
+    public record Entry(long accountId, long sequence, long amountCents, long balanceAfterCents,
+                        LocalDateTime transactionDate, TransactionType type, String counterparty,
+                        String description) {}
+
+    public static final class Ticket {
+        private final Segment segment;
+        private final long position;
+
+        private Ticket(Segment segment, long position) {
+            this.segment = segment;
+            this.position = position;
+        }
+    }
+
+    private static final class Segment {
+        private final long index;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final long basePosition;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean sealed;
+
+        Segment(long index, Path path, MappedByteBuffer buffer, long basePosition) {
+            this.index = index;
+            this.path = path;
+            this.buffer = buffer;
+            this.basePosition = basePosition;
+        }
+    }
+}
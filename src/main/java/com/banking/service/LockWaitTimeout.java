@@ -0,0 +1,41 @@
+package com.banking.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+
+/**
+ * Bounds how long SELECT ... FOR UPDATE waits for a row lock. Neither the MySQL
+ * nor the H2 dialect honours the jakarta.persistence.lock.timeout hint, so the
+ * limit is set on the connection of the current transaction before locking:
+ * innodb_lock_wait_timeout (whole seconds) on MySQL, LOCK_TIMEOUT on H2.
+ * The setting stays on the pooled connection, which is harmless because every
+ * locking transaction sets it again.
+ */
+@Component
+public class LockWaitTimeout {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${banking.transfer.lock-timeout-ms:3000}")
+    private long lockTimeoutMs;
+
+    public void apply() {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            String product = connection.getMetaData().getDatabaseProductName();
+            try (Statement statement = connection.createStatement()) {
+                if ("H2".equals(product)) {
+                    statement.execute("SET LOCK_TIMEOUT " + lockTimeoutMs);
+                } else {
+                    long seconds = Math.max(1, (lockTimeoutMs + 999) / 1000);
+                    statement.execute("SET SESSION innodb_lock_wait_timeout = " + seconds);
+                }
+            }
+        });
+    }
+}
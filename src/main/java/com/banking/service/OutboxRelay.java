@@ -0,0 +1,163 @@
+package com.banking.service;
+
+import com.banking.dto.LedgerEvent;
+import com.banking.model.OutboxEvent;
+import com.banking.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the outbox to the configured {@link OutboxSink}. Every flush
+ * interval each shard's oldest events are locked, published and deleted in
+ * one database transaction, batch after batch until the outbox is drained.
+ *
+ * Delivery is at least once: a failed publish rolls the batch back, and a
+ * crash after the sink accepted a batch but before the delete commits sends
+ * it again. The row locks make relays on other instances wait for the batch.
+ * Events are taken lowest account sequence first, and an account's sequences
+ * are committed in order (see {@link OutboxWriter}), so every batch holds the
+ * earliest pending events of each account it touches and an account's events
+ * leave in the order they were committed.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.outbox.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    private Counter published;
+
+    private Counter failures;
+
+    // Millis of the last pass that drained every shard, for the lag gauge
+    private final AtomicLong lastDrainedAt = new AtomicLong();
+
+    private ScheduledExecutorService relay;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        published = Counter.builder("banking.outbox.published")
+                .description("Ledger events accepted by the outbox sink")
+                .register(meterRegistry);
+        failures = Counter.builder("banking.outbox.failures")
+                .description("Outbox batches rolled back after a failed publish")
+                .register(meterRegistry);
+        Gauge.builder("banking.outbox.lag", () -> lastDrainedAt.get() == 0
+                        ? Double.NaN
+                        : System.currentTimeMillis() - lastDrainedAt.get())
+                .description("Time since the relay last emptied the outbox")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relay.scheduleWithFixedDelay(this::relayAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        logger.info("Outbox relay enabled ({} sink, batches of {}, every {} ms)",
+                sink.getClass().getSimpleName(), batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (relay != null) {
+            relay.shutdownNow();
+        }
+    }
+
+    private void relayAll() {
+        boolean drained = true;
+        for (int shard : shardRouter.shardIds()) {
+            try {
+                int relayed;
+                do {
+                    relayed = shardRouter.callOn(shard, this::relayBatch);
+                } while (relayed == batchSize && !Thread.currentThread().isInterrupted());
+            } catch (RuntimeException e) {
+                drained = false;
+                failures.increment();
+                logger.warn("Outbox relay failed, retrying in {} ms: {}", flushIntervalMs, e.getMessage());
+            }
+        }
+        if (drained) {
+            lastDrainedAt.set(System.currentTimeMillis());
+        }
+    }
+
+    private int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findOldestForUpdate(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            sink.publish(events.stream().map(this::toLedgerEvent).toList());
+            outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+            return events.size();
+        });
+        if (relayed != null && relayed > 0) {
+            published.increment(relayed);
+        }
+        return relayed == null ? 0 : relayed;
+    }
+
+    private LedgerEvent toLedgerEvent(OutboxEvent event) {
+        return new LedgerEvent(
+                event.getId(),
+                event.getAccountNumber(),
+                event.getAccountSequence(),
+                event.getTransactionId(),
+                event.getType(),
+                event.getAmount(),
+                event.getBalanceAfter(),
+                event.getCounterpartyAccountNumber(),
+                event.getDescription(),
+                event.getOccurredAt()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.banking.service;
+
+import com.banking.dto.LedgerEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the ledger events published by {@link OutboxRelay}, chosen
+ * with {@code banking.outbox.sink}. An account's events arrive in ascending
+ * {@link LedgerEvent#getSequence() sequence}, which is its commit order, and a
+ * sink must keep that order per account. A batch is removed from the outbox
+ * only after publish returns, so a sink that throws sees the whole batch again.
+ * Consumers must tolerate those duplicates: skip any event whose sequence is
+ * not above the last one applied for its account.
+ */
+public interface OutboxSink {
+
+    void publish(List<LedgerEvent> events);
+}
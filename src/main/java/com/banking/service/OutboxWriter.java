@@ -0,0 +1,67 @@
+package com.banking.service;
+
+import com.banking.model.OutboxEvent;
+import com.banking.model.Transaction;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes an {@link OutboxEvent} for every transaction row, in the database
+ * transaction that wrote the row, so an event exists exactly when its posting
+ * committed. Publishing is left to {@link OutboxRelay}.
+ *
+ * Each event gets the next value of its account's event_sequence counter. The
+ * counter is advanced with an UPDATE of the account row, whose lock is held
+ * until commit, so a later sequence of an account is never committed before an
+ * earlier one.
+ */
+@Component
+public class OutboxWriter implements TransactionWriteHandler {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${banking.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public void onTransactionsWritten(List<Transaction> transactions) {
+        if (!enabled) {
+            return;
+        }
+
+        // Ascending account ids, so transactions advancing the same counters lock them in the same order
+        Map<Long, List<Transaction>> byAccount = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            byAccount.computeIfAbsent(transaction.getAccount().getId(), id -> new ArrayList<>()).add(transaction);
+        }
+
+        List<OutboxEvent> events = new ArrayList<>(transactions.size());
+        for (Map.Entry<Long, List<Transaction>> account : byAccount.entrySet()) {
+            // Ledger postings go by their sequence; other rows keep the order they were written in
+            List<Transaction> postings = account.getValue();
+            postings.sort(Comparator.comparing(Transaction::getSequence, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+            accountRepository.advanceEventSequence(account.getKey(), postings.size());
+            long sequence = accountRepository.findEventSequence(account.getKey()) - postings.size();
+            for (Transaction transaction : postings) {
+                OutboxEvent event = new OutboxEvent(transaction);
+                event.setAccountSequence(++sequence);
+                events.add(event);
+            }
+        }
+        outboxEventRepository.saveAll(events);
+    }
+}
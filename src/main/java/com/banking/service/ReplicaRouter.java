@@ -0,0 +1,241 @@
+package com.banking.service;
+
+import com.banking.config.ReplicaDataSources;
+import com.banking.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Picks the replica that serves a read-only transaction. The primary stamps a
+ * heartbeat row every check interval and each replica is asked which stamp it
+ * has reached; a replica's lag is the age of that stamp, so a replica that
+ * stops answering or stops applying changes ages out of rotation on its own.
+ * Reads fall back to the primary when no replica is within max-lag-ms.
+ *
+ * After a user's deposit, withdrawal or transfer commits, that user's reads go
+ * to the primary for read-your-writes-seconds. The window is kept per
+ * instance, so it only holds while the user stays on the same instance.
+ */
+@Component
+public class ReplicaRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    @Autowired
+    private ObjectProvider<ReplicaDataSources> replicaDataSources;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.read-replicas.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.read-replicas.max-lag-ms:1000}")
+    private long maxLagMs;
+
+    @Value("${banking.read-replicas.check-interval-ms:250}")
+    private long checkIntervalMs;
+
+    @Value("${banking.read-replicas.read-your-writes-seconds:5}")
+    private long readYourWritesSeconds;
+
+    private ReplicaDataSources replicas;
+
+    // Latest heartbeat stamp seen on each replica; 0 until the first successful check
+    private AtomicLongArray caughtUpTo;
+
+    private boolean[] available;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    private Cache<Long, Boolean> recentWriters;
+
+    private ScheduledExecutorService checker;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        replicas = replicaDataSources.getObject();
+        caughtUpTo = new AtomicLongArray(replicas.size());
+        available = new boolean[replicas.size()];
+
+        if (readYourWritesSeconds > 0) {
+            recentWriters = Caffeine.newBuilder()
+                    .maximumSize(100_000)
+                    .expireAfterWrite(Duration.ofSeconds(readYourWritesSeconds))
+                    .build();
+        }
+
+        for (int replica = 0; replica < replicas.size(); replica++) {
+            int index = replica;
+            Gauge.builder("banking.replica.lag", () -> caughtUpTo.get(index) == 0 ? Double.NaN : lagMillis(index))
+                    .description("Age of the newest primary heartbeat seen on the replica")
+                    .baseUnit("milliseconds")
+                    .tag("replica", String.valueOf(index))
+                    .register(meterRegistry);
+        }
+
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+
+        logger.info("Read replicas enabled ({} replicas, max lag {} ms)", replicas.size(), maxLagMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Replica for the current read-only transaction, or null for the primary.
+     * Called when the transaction first touches the database.
+     */
+    public Integer replicaForCurrentRead() {
+        if (!enabled || !TransactionSynchronizationManager.isCurrentTransactionReadOnly() || readsFromPrimary()) {
+            return null;
+        }
+
+        int count = caughtUpTo.length();
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            int replica = (start + i) % count;
+            if (lagMillis(replica) <= maxLagMs) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public boolean readsFromPrimary() {
+        if (Boolean.TRUE.equals(primaryOnly.get())) {
+            return true;
+        }
+        if (recentWriters == null) {
+            return false;
+        }
+
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    // Pins the user's reads to the primary once the surrounding transaction commits
+    public void recordWrite(Long userId) {
+        if (recentWriters == null || userId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(userId, Boolean.TRUE);
+                }
+            });
+        } else {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    // Work whose reads must see every commit, e.g. results that outlive the replica's lag in a cache
+    public <T> T callOnPrimary(Supplier<T> work) {
+        Boolean previous = primaryOnly.get();
+        primaryOnly.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                primaryOnly.remove();
+            } else {
+                primaryOnly.set(previous);
+            }
+        }
+    }
+
+    public void runOnPrimary(Runnable work) {
+        callOnPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void check() {
+        try {
+            replicas.primaryJdbc().update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1",
+                    System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            logger.warn("Could not write the replica heartbeat: {}", e.getMessage());
+        }
+
+        for (int replica = 0; replica < replicas.size(); replica++) {
+            try {
+                Long beat = replicas.replicaJdbc(replica).queryForObject(
+                        "SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+                caughtUpTo.set(replica, beat != null ? beat : 0);
+            } catch (RuntimeException e) {
+                caughtUpTo.set(replica, 0);
+                logger.debug("Replica {} check failed: {}", replica, e.getMessage());
+            }
+
+            boolean nowAvailable = lagMillis(replica) <= maxLagMs;
+            if (nowAvailable != available[replica]) {
+                available[replica] = nowAvailable;
+                if (nowAvailable) {
+                    logger.info("Replica {} is serving reads", replica);
+                } else {
+                    logger.warn("Replica {} taken out of rotation (lag {} ms)", replica, lagMillis(replica));
+                }
+            }
+        }
+    }
+
+    // Upper bound on how far the replica is behind; grows between checks, so a stalled checker fails safe
+    private long lagMillis(int replica) {
+        long beat = caughtUpTo.get(replica);
+        return beat == 0 ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - beat);
+    }
+
+    private Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof User user)) {
+            return null;
+        }
+        return user.getId();
+    }
+}
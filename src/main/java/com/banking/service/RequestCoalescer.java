@@ -0,0 +1,161 @@
+package com.banking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Groups requests for the same key that arrive within a short window so they
+ * can be applied together. The first caller of a window becomes the leader: it
+ * waits until the window closes or the batch is full, then runs the handler
+ * for the whole batch on its own thread. No extra threads are involved.
+ *
+ * The handler records an outcome on every request; outcomes are handed to the
+ * waiting callers only after the handler returns, so a handler that retries
+ * its transaction can simply overwrite them. If the handler throws, every
+ * caller in the batch receives that exception.
+ */
+@Component
+public class RequestCoalescer {
+
+    @Value("${banking.coalescing.window-ms:2}")
+    private long windowMs;
+
+    @Value("${banking.coalescing.max-batch-size:64}")
+    private int maxBatchSize;
+
+    private final ConcurrentHashMap<String, Batch<?, ?>> open = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <I, R> R submit(String key, I item, Consumer<List<Request<I, R>>> handler) {
+        Request<I, R> request = new Request<>(item);
+
+        while (true) {
+            Batch<I, R> created = new Batch<>();
+            Batch<I, R> batch = (Batch<I, R>) open.computeIfAbsent(key, k -> created);
+
+            if (batch.add(request, maxBatchSize)) {
+                if (batch == created) {
+                    lead(key, batch, handler);
+                }
+                return request.await();
+            }
+
+            // Full, or closed between lookup and add; make sure the next attempt opens a fresh batch
+            open.remove(key, batch);
+        }
+    }
+
+    private <I, R> void lead(String key, Batch<I, R> batch, Consumer<List<Request<I, R>>> handler) {
+        List<Request<I, R>> requests = batch.awaitAndClose(maxBatchSize, TimeUnit.MILLISECONDS.toNanos(windowMs));
+        open.remove(key, batch);
+
+        try {
+            handler.accept(requests);
+        } catch (RuntimeException e) {
+            for (Request<I, R> request : requests) {
+                request.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (Request<I, R> request : requests) {
+            request.publish();
+        }
+    }
+
+    public static final class Request<I, R> {
+        private final I item;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        private R result;
+        private RuntimeException error;
+
+        private Request(I item) {
+            this.item = item;
+        }
+
+        public I getItem() {
+            return item;
+        }
+
+        public void succeed(R result) {
+            this.result = result;
+            this.error = null;
+        }
+
+        public void fail(RuntimeException error) {
+            this.result = null;
+            this.error = error;
+        }
+
+        private void publish() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        private R await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class Batch<I, R> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition full = lock.newCondition();
+        private final List<Request<I, R>> requests = new ArrayList<>();
+        private boolean closed;
+
+        boolean add(Request<I, R> request, int maxSize) {
+            lock.lock();
+            try {
+                // A full batch refuses too, so the caller starts the next one instead of growing this one
+                if (closed || requests.size() >= maxSize) {
+                    return false;
+                }
+                requests.add(request);
+                if (requests.size() >= maxSize) {
+                    full.signal();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Request<I, R>> awaitAndClose(int maxSize, long windowNanos) {
+            lock.lock();
+            try {
+                long remaining = windowNanos;
+                while (requests.size() < maxSize && remaining > 0) {
+                    remaining = full.awaitNanos(remaining);
+                }
+                closed = true;
+                return requests;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closed = true;
+                return requests;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
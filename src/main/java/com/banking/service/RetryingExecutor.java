@@ -0,0 +1,167 @@
+package com.banking.service;
+
+import com.banking.dto.ContentionStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a unit of work and retries it with jittered exponential backoff when it
+ * fails on an optimistic version conflict or a lock conflict. The work must open
+ * its own transaction so that each attempt starts from a clean persistence context.
+ * Attempts, conflicts and retries are counted as Micrometer meters and per
+ * account to expose hot spots. Per-account stats are only kept for accounts
+ * that resolved (the work succeeded or hit a conflict on the account's rows),
+ * so unknown account numbers never take an entry, and they live in a
+ * size-bounded cache whose frequency-based eviction keeps the hottest accounts.
+ */
+@Component
+public class RetryingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryingExecutor.class);
+
+    @Value("${banking.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${banking.retry.initial-backoff-ms:5}")
+    private long initialBackoffMs;
+
+    @Value("${banking.retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    @Value("${banking.retry.max-tracked-accounts:10000}")
+    private long maxTrackedAccounts;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, ContentionStats> stats;
+
+    private Counter attemptsCounter;
+    private Counter conflictsCounter;
+    private Counter retriesCounter;
+    private Counter exhaustedCounter;
+
+    @PostConstruct
+    public void init() {
+        stats = Caffeine.newBuilder()
+                .maximumSize(maxTrackedAccounts)
+                .build();
+
+        attemptsCounter = meterRegistry.counter("banking.retry.attempts");
+        conflictsCounter = meterRegistry.counter("banking.retry.conflicts");
+        retriesCounter = meterRegistry.counter("banking.retry.retries");
+        exhaustedCounter = meterRegistry.counter("banking.retry.exhausted");
+    }
+
+    public <T> T execute(String accountNumber, Supplier<T> action) {
+        int conflicts = 0;
+
+        for (int attempt = 1; ; attempt++) {
+            attemptsCounter.increment();
+            try {
+                T result = action.get();
+                record(accountNumber, attempt, conflicts, false);
+                return result;
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    // Only a conflict proves the account exists; plain failures may name an unknown one
+                    if (conflicts > 0) {
+                        record(accountNumber, attempt, conflicts, false);
+                    }
+                    throw e;
+                }
+
+                conflicts++;
+                conflictsCounter.increment();
+                if (attempt >= maxAttempts) {
+                    exhaustedCounter.increment();
+                    record(accountNumber, attempt, conflicts, true);
+                    throw e;
+                }
+
+                retriesCounter.increment();
+                long backoff = backoff(attempt);
+                logger.debug("Conflict on account {} attempt {}, retrying in {} ms: {}",
+                        accountNumber, attempt, backoff, e.getMessage());
+                sleep(backoff);
+            }
+        }
+    }
+
+    public List<ContentionStatsResponse> getStats() {
+        return stats.asMap().entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparingLong(ContentionStatsResponse::getConflicts).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private void record(String accountNumber, int attempts, int conflicts, boolean exhausted) {
+        ContentionStats accountStats = stats.get(accountNumber, key -> new ContentionStats());
+        accountStats.attempts.add(attempts);
+        accountStats.conflicts.add(conflicts);
+        accountStats.retries.add(exhausted ? attempts - 1 : conflicts);
+        if (exhausted) {
+            accountStats.exhausted.increment();
+        }
+    }
+
+    protected boolean isRetryable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException
+                    || cause instanceof OptimisticLockException
+                    || cause instanceof PessimisticLockingFailureException
+                    || cause instanceof PessimisticLockException
+                    || cause instanceof LockTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long backoff(int attempt) {
+        // Full jitter: a random delay up to the exponential ceiling
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry");
+        }
+    }
+
+    private static final class ContentionStats {
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+
+        ContentionStatsResponse toResponse(String accountNumber) {
+            return new ContentionStatsResponse(accountNumber, attempts.sum(), conflicts.sum(),
+                    retries.sum(), exhausted.sum());
+        }
+    }
+}
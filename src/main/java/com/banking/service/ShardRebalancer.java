@@ -0,0 +1,242 @@
+package com.banking.service;
+
+import com.banking.dto.ShardStatsResponse;
+import com.banking.exception.ResourceNotFoundException;
+import com.banking.model.CrossShardTransfer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves an account, with its transactions, balance snapshots and daily
+ * summaries, from one shard to another. The account row stays locked on the
+ * source shard for the whole move, so writers wait rather than change what is
+ * being copied. The copy is committed on the target, the directory is
+ * switched (the point at which the move takes effect) and the source rows are
+ * deleted.
+ *
+ * A move interrupted before the switch leaves a stray copy on the target that
+ * the next attempt removes; one interrupted after it leaves a stray copy on
+ * the source that a later move back removes.
+ */
+@Service
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final int COPY_BATCH_SIZE = 1000;
+
+    private static final String SUMMARY_COLUMNS = "business_date, opening_balance, closing_balance, deposits, withdrawals, "
+            + "transfers_in, transfers_out, transfers_in_count, transfers_out_count, transaction_count, version";
+
+    private static final String TRANSACTION_COLUMNS = "id, amount, type, description, transaction_date, balance_after, "
+            + "to_account_number, from_account_number, ledger_sequence";
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<ShardStatsResponse> getShardStats() {
+        requireSharding();
+
+        List<ShardStatsResponse> stats = new ArrayList<>();
+        for (int shard : shardRouter.shardIds()) {
+            JdbcTemplate jdbc = shardRouter.jdbc(shard);
+            Long accounts = jdbc.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+            Long transactions = jdbc.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+            stats.add(new ShardStatsResponse(shard, accounts, transactions));
+        }
+        return stats;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public String moveAccount(String accountNumber, int targetShard) {
+        requireSharding();
+
+        if (!shardRouter.shardIds().contains(targetShard)) {
+            throw new RuntimeException("Unknown shard " + targetShard);
+        }
+
+        shardRouter.evict(accountNumber);
+        int sourceShard = shardRouter.shardFor(accountNumber);
+        if (sourceShard == targetShard) {
+            throw new RuntimeException("Account " + accountNumber + " is already on shard " + targetShard);
+        }
+
+        try (Connection source = shardRouter.dataSource(sourceShard).getConnection();
+             Connection target = shardRouter.dataSource(targetShard).getConnection()) {
+            source.setAutoCommit(false);
+            target.setAutoCommit(false);
+            try {
+                move(accountNumber, targetShard, source, target);
+            } catch (RuntimeException | SQLException e) {
+                source.rollback();
+                target.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Moving account " + accountNumber + " failed: " + e.getMessage());
+        } finally {
+            shardRouter.evict(accountNumber);
+            accountCache.evict(accountNumber);
+        }
+
+        logger.info("Moved account {} from shard {} to shard {}", accountNumber, sourceShard, targetShard);
+        return "Account " + accountNumber + " moved to shard " + targetShard;
+    }
+
+    private void move(String accountNumber, int targetShard, Connection sourceConnection,
+                      Connection targetConnection) throws SQLException {
+        JdbcTemplate source = new JdbcTemplate(new SingleConnectionDataSource(sourceConnection, true));
+        JdbcTemplate target = new JdbcTemplate(new SingleConnectionDataSource(targetConnection, true));
+        source.setFetchSize(COPY_BATCH_SIZE);
+
+        List<Map<String, Object>> rows = source.queryForList(
+                "SELECT id, account_number, balance, account_type, status, version, created_at, updated_at, user_id, " +
+                "event_sequence FROM accounts WHERE account_number = ? FOR UPDATE", accountNumber);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Account not found with number: " + accountNumber);
+        }
+        Map<String, Object> account = rows.get(0);
+        Long sourceId = ((Number) account.get("id")).longValue();
+        Long userId = ((Number) account.get("user_id")).longValue();
+
+        // A saga still waiting on its credit would compensate against the wrong shard
+        Long openSagas = source.queryForObject(
+                "SELECT COUNT(*) FROM cross_shard_transfers WHERE from_account_number = ? AND state = ?",
+                Long.class, accountNumber, CrossShardTransfer.State.DEBITED.name());
+        if (openSagas != null && openSagas > 0) {
+            throw new RuntimeException("Account " + accountNumber + " has cross-shard transfers in flight, retry later");
+        }
+
+        // The relay drains each shard separately, so copies published from the target could overtake these
+        Long pendingEvents = source.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE account_number = ?", Long.class, accountNumber);
+        if (pendingEvents != null && pendingEvents > 0) {
+            throw new RuntimeException("Account " + accountNumber + " has unpublished ledger events, retry later");
+        }
+
+        deleteAccount(target, accountNumber);
+        shardRouter.mirrorUser(userId, targetShard);
+        Long targetId = insertAccount(target, account);
+        copyTransactions(source, target, sourceId, targetId);
+        copySnapshots(source, target, sourceId, targetId);
+        copySummaries(source, target, sourceId, targetId);
+        targetConnection.commit();
+
+        shardRouter.recordShard(accountNumber, userId, targetShard);
+
+        deleteAccount(source, accountNumber);
+        sourceConnection.commit();
+    }
+
+    // event_sequence is carried over so the account's outbox events keep counting up on the target
+    private Long insertAccount(JdbcTemplate target, Map<String, Object> account) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        target.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO accounts (account_number, balance, account_type, status, version, created_at, " +
+                    "updated_at, user_id, event_sequence) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", new String[] {"id"});
+            statement.setObject(1, account.get("account_number"));
+            statement.setObject(2, account.get("balance"));
+            statement.setObject(3, account.get("account_type"));
+            statement.setObject(4, account.get("status"));
+            statement.setObject(5, account.get("version"));
+            statement.setObject(6, account.get("created_at"));
+            statement.setObject(7, account.get("updated_at"));
+            statement.setObject(8, account.get("user_id"));
+            statement.setObject(9, account.get("event_sequence"));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    // Transaction ids are drawn from per-shard blocks, so they are kept and history cursors stay valid
+    private void copyTransactions(JdbcTemplate source, JdbcTemplate target, Long sourceId, Long targetId) {
+        String insert = "INSERT INTO transactions (" + TRANSACTION_COLUMNS + ", account_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(COPY_BATCH_SIZE);
+
+        source.query("SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE account_id = ?", resultSet -> {
+            Object[] row = new Object[10];
+            for (int column = 0; column < 9; column++) {
+                row[column] = resultSet.getObject(column + 1);
+            }
+            row[9] = targetId;
+            batch.add(row);
+
+            if (batch.size() == COPY_BATCH_SIZE) {
+                target.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }, sourceId);
+
+        if (!batch.isEmpty()) {
+            target.batchUpdate(insert, batch);
+        }
+    }
+
+    private void copySnapshots(JdbcTemplate source, JdbcTemplate target, Long sourceId, Long targetId) {
+        List<Object[]> snapshots = new ArrayList<>();
+        source.query("SELECT ledger_sequence, balance, created_at FROM balance_snapshots WHERE account_id = ?",
+                resultSet -> {
+                    snapshots.add(new Object[] {targetId, resultSet.getObject(1), resultSet.getObject(2),
+                            resultSet.getObject(3)});
+                }, sourceId);
+
+        if (!snapshots.isEmpty()) {
+            target.batchUpdate("INSERT INTO balance_snapshots (account_id, ledger_sequence, balance, created_at) " +
+                    "VALUES (?, ?, ?, ?)", snapshots);
+        }
+    }
+
+    // One row per active day, so these are copied in a single batch
+    private void copySummaries(JdbcTemplate source, JdbcTemplate target, Long sourceId, Long targetId) {
+        List<Object[]> summaries = new ArrayList<>();
+        source.query("SELECT " + SUMMARY_COLUMNS + " FROM account_daily_summaries WHERE account_id = ?", resultSet -> {
+            Object[] row = new Object[12];
+            row[0] = targetId;
+            for (int column = 1; column < 12; column++) {
+                row[column] = resultSet.getObject(column);
+            }
+            summaries.add(row);
+        }, sourceId);
+
+        if (!summaries.isEmpty()) {
+            target.batchUpdate("INSERT INTO account_daily_summaries (account_id, " + SUMMARY_COLUMNS + ") " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", summaries);
+        }
+    }
+
+    private void deleteAccount(JdbcTemplate jdbc, String accountNumber) {
+        List<Long> ids = jdbc.queryForList("SELECT id FROM accounts WHERE account_number = ?", Long.class, accountNumber);
+        for (Long id : ids) {
+            jdbc.update("DELETE FROM balance_snapshots WHERE account_id = ?", id);
+            jdbc.update("DELETE FROM account_daily_summaries WHERE account_id = ?", id);
+            jdbc.update("DELETE FROM transactions WHERE account_id = ?", id);
+            jdbc.update("DELETE FROM accounts WHERE id = ?", id);
+        }
+    }
+
+    private void requireSharding() {
+        if (!shardRouter.isEnabled()) {
+            throw new RuntimeException("Sharding is not enabled");
+        }
+    }
+}
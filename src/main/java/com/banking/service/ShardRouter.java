@@ -0,0 +1,242 @@
+package com.banking.service;
+
+import com.banking.config.ShardContext;
+import com.banking.config.ShardDataSources;
+import com.banking.model.Account;
+import com.banking.model.User;
+import com.banking.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Decides which shard owns an account. New accounts are placed by a hash of
+ * the account number and recorded in the account_directory table on the home
+ * shard; the directory stays authoritative, so the rebalancer can move an
+ * account by updating its entry. Lookups are cached for a short time, which is
+ * how long other instances may keep routing a moved account to its old shard.
+ *
+ * When sharding is disabled every account is on the home shard and the
+ * routing helpers simply run the work.
+ */
+@Component
+public class ShardRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+
+    public static final int HOME_SHARD = 0;
+
+    private static final String USER_COLUMNS =
+            "id, username, email, password, first_name, last_name, role, enabled, created_at, updated_at";
+
+    @Autowired
+    private ObjectProvider<ShardDataSources> shardDataSources;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InMemoryLedger inMemoryLedger;
+
+    @Autowired
+    private EventSourcedLedger eventSourcedLedger;
+
+    @Value("${banking.sharding.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.sharding.directory-cache-seconds:10}")
+    private long directoryCacheSeconds;
+
+    private ShardDataSources shards;
+
+    private Cache<String, Integer> directory;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        // Both ledgers keep per-account state that assumes a single database
+        if (inMemoryLedger.isEnabled() || eventSourcedLedger.isEnabled()) {
+            throw new IllegalStateException("Sharding cannot be combined with the in-memory or event-sourced ledger");
+        }
+
+        shards = shardDataSources.getObject();
+        directory = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(directoryCacheSeconds))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<Integer> shardIds() {
+        return enabled ? IntStream.range(0, shards.size()).boxed().toList() : List.of(HOME_SHARD);
+    }
+
+    public int shardFor(String accountNumber) {
+        if (!enabled) {
+            return HOME_SHARD;
+        }
+
+        Integer shard = directory.get(accountNumber, this::lookupShard);
+        return shard != null ? shard : placementFor(accountNumber);
+    }
+
+    // Where a new account goes; unknown account numbers are looked for there too
+    public int placementFor(String accountNumber) {
+        if (!enabled) {
+            return HOME_SHARD;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(accountNumber.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shards.size());
+    }
+
+    public Optional<String> findAccountNumber(Long userId) {
+        List<String> numbers = homeJdbc().queryForList(
+                "SELECT account_number FROM account_directory WHERE user_id = ?", String.class, userId);
+        return numbers.stream().findFirst();
+    }
+
+    public boolean isPlaced(String accountNumber) {
+        return lookupShard(accountNumber) != null;
+    }
+
+    public void recordShard(String accountNumber, Long userId, int shard) {
+        int updated = homeJdbc().update(
+                "UPDATE account_directory SET shard_id = ? WHERE account_number = ?", shard, accountNumber);
+        if (updated == 0) {
+            homeJdbc().update("INSERT INTO account_directory (account_number, user_id, shard_id) VALUES (?, ?, ?)",
+                    accountNumber, userId, shard);
+        }
+        directory.put(accountNumber, shard);
+    }
+
+    /**
+     * Saves a new account on the shard its number hashes to and records it in
+     * the directory. The owner is copied to that shard first so the account's
+     * foreign key and owner-name joins resolve locally. On the home shard the
+     * account joins the caller's transaction, next to its owner; elsewhere it
+     * is committed in a transaction of its own on the target shard.
+     */
+    public Account placeAccount(Account account) {
+        int shard = placementFor(account.getAccountNumber());
+        if (shard == HOME_SHARD) {
+            Account saved = accountRepository.save(account);
+            if (enabled) {
+                recordShard(account.getAccountNumber(), account.getUser().getId(), shard);
+            }
+            return saved;
+        }
+
+        mirrorUser(account.getUser(), shard);
+
+        TransactionTemplate placement = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        placement.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Account saved = callOn(shard, () -> placement.execute(status -> accountRepository.save(account)));
+
+        recordShard(account.getAccountNumber(), account.getUser().getId(), shard);
+        logger.debug("Placed account {} on shard {}", account.getAccountNumber(), shard);
+        return saved;
+    }
+
+    // Copies of a user on other shards carry the home shard's id; only the home shard generates user ids
+    public void mirrorUser(User user, int shard) {
+        LocalDateTime createdAt = user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.now();
+        insertUserCopy(shard, user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getFirstName(), user.getLastName(), user.getRole().name(), user.isEnabled(),
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    // Same, for a user already committed on the home shard
+    public void mirrorUser(Long userId, int shard) {
+        Map<String, Object> user = homeJdbc().queryForMap("SELECT " + USER_COLUMNS + " FROM users WHERE id = ?", userId);
+        insertUserCopy(shard, user.get("id"), user.get("username"), user.get("email"), user.get("password"),
+                user.get("first_name"), user.get("last_name"), user.get("role"), user.get("enabled"),
+                user.get("created_at"), user.get("updated_at"));
+    }
+
+    private void insertUserCopy(int shard, Object... values) {
+        if (shard == HOME_SHARD) {
+            return;
+        }
+
+        JdbcTemplate jdbc = shards.jdbc(shard);
+        Integer existing = jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, values[0]);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        jdbc.update("INSERT INTO users (" + USER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", values);
+    }
+
+    public <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public void runOn(int shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public void evict(String accountNumber) {
+        if (enabled) {
+            directory.invalidate(accountNumber);
+        }
+    }
+
+    // Physical pool of one shard, outside routing and any JPA transaction
+    public JdbcTemplate jdbc(int shard) {
+        return shards.jdbc(shard);
+    }
+
+    public DataSource dataSource(int shard) {
+        return shards.get(shard);
+    }
+
+    private Integer lookupShard(String accountNumber) {
+        List<Integer> found = homeJdbc().queryForList(
+                "SELECT shard_id FROM account_directory WHERE account_number = ?", Integer.class, accountNumber);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private JdbcTemplate homeJdbc() {
+        return shards.jdbc(HOME_SHARD);
+    }
+}
@@ -0,0 +1,337 @@
+package com.banking.service;
+
+import com.banking.dto.ExportResponse;
+import com.banking.dto.TransactionExportRow;
+import com.banking.exception.ResourceNotFoundException;
+import com.banking.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full-history transaction exports in CSV or NDJSON, optionally gzipped.
+ * Account exports are written to the response as rows come off the database
+ * cursor, oldest first by id; passing the last id received resumes an
+ * interrupted export. Admin bulk exports are written to a temporary file
+ * that can be downloaded, and resumed by byte range, until it expires.
+ */
+@Service
+public class StatementExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementExportService.class);
+
+    private static final String CSV_HEADER =
+            "id,account_number,transaction_date,type,amount,balance_after,to_account_number,from_account_number,description";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.export.directory:${java.io.tmpdir}/banking-exports}")
+    private String directory;
+
+    @Value("${banking.export.retention-minutes:60}")
+    private long retentionMinutes;
+
+    // Bulk exports of this instance by id; files are removed once they expire
+    private final Map<String, ExportFile> exports = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService cleaner;
+
+    public enum Format {
+        CSV("text/csv", ".csv"),
+        NDJSON("application/x-ndjson", ".ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value + " (use csv or ndjson)");
+            }
+        }
+
+        public String contentType(boolean gzip) {
+            return gzip ? "application/gzip" : contentType;
+        }
+
+        public String fileName(String baseName, boolean gzip) {
+            return baseName + extension + (gzip ? ".gz" : "");
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "export-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::deleteExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        cleaner.shutdownNow();
+        exports.values().forEach(this::delete);
+    }
+
+    /**
+     * Writes the account's transactions with an id above afterId. Callers must
+     * check access with AccountService.getHistoryAccountId first.
+     */
+    @Transactional(readOnly = true)
+    public void exportAccount(Long accountId, Format format, Long afterId, boolean gzip, OutputStream outputStream) {
+        try {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, WRITE_BUFFER_SIZE) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            try (Stream<TransactionExportRow> rows = transactionRepository.streamExportByAccountId(accountId,
+                    afterId != null ? afterId : 0L)) {
+                rows.forEach(row -> writeRow(writer, format, row));
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // One read-only transaction per shard, shard after shard, into a file the download serves without re-reading rows
+    @PreAuthorize("hasRole('ADMIN')")
+    public ExportResponse createBulkExport(Format format, boolean gzip) {
+        String exportId = UUID.randomUUID().toString();
+        String fileName = format.fileName("transactions-" + exportId, gzip);
+        Path path;
+        long[] rows = new long[1];
+
+        try {
+            Path exportDirectory = Paths.get(directory);
+            Files.createDirectories(exportDirectory);
+            path = exportDirectory.resolve(fileName);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create the export directory " + directory, e);
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(path), WRITE_BUFFER_SIZE)) {
+            OutputStream target = gzip ? new GZIPOutputStream(file, WRITE_BUFFER_SIZE) : file;
+            Writer writer = new OutputStreamWriter(target, StandardCharsets.UTF_8);
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            for (int shard : shardRouter.shardIds()) {
+                shardRouter.runOn(shard, () -> readOnly.executeWithoutResult(status -> {
+                    try (Stream<TransactionExportRow> stream = transactionRepository.streamExport()) {
+                        stream.forEach(row -> {
+                            writeRow(writer, format, row);
+                            rows[0]++;
+                        });
+                    }
+                }));
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(path);
+            throw new RuntimeException("Transaction export failed: " + e.getMessage(), e);
+        }
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        ExportFile export = new ExportFile(exportId, path, fileName, format.contentType(gzip),
+                size(path), createdAt, createdAt.plusMinutes(retentionMinutes));
+        exports.put(exportId, export);
+        logger.info("Exported {} transactions to {} ({} bytes)", rows[0], path, export.getSize());
+
+        return new ExportResponse(exportId, fileName, rows[0], export.getSize(), export.getCreatedAt(),
+                export.getExpiresAt());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public ExportFile getBulkExport(String exportId) {
+        ExportFile export = exports.get(exportId);
+        if (export == null || export.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Export not found: " + exportId);
+        }
+        return export;
+    }
+
+    /**
+     * Copies the file from start to its end with FileChannel.transferTo, used
+     * when the servlet container cannot send the file itself.
+     */
+    public void transferTo(ExportFile export, long start, OutputStream outputStream) throws IOException {
+        try (FileChannel file = FileChannel.open(export.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = start;
+            long size = file.size();
+            while (position < size) {
+                position += file.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    private void writeRow(Writer writer, Format format, TransactionExportRow row) {
+        try {
+            if (format == Format.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(row));
+            } else {
+                writer.write(String.valueOf(row.getId()));
+                writer.write(',');
+                writer.write(csv(row.getAccountNumber()));
+                writer.write(',');
+                writer.write(row.getTransactionDate() != null ? row.getTransactionDate().toString() : "");
+                writer.write(',');
+                writer.write(row.getType() != null ? row.getType().name() : "");
+                writer.write(',');
+                writer.write(row.getAmount().toPlainString());
+                writer.write(',');
+                writer.write(row.getBalanceAfter() != null ? row.getBalanceAfter().toPlainString() : "");
+                writer.write(',');
+                writer.write(csv(row.getToAccountNumber()));
+                writer.write(',');
+                writer.write(csv(row.getFromAccountNumber()));
+                writer.write(',');
+                writer.write(csv(row.getDescription()));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Text cells a spreadsheet would read as a formula get a leading apostrophe (OWASP CSV injection)
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        exports.values().removeIf(export -> {
+            if (export.getExpiresAt().isAfter(now)) {
+                return false;
+            }
+            delete(export);
+            return true;
+        });
+    }
+
+    private void delete(ExportFile export) {
+        deleteQuietly(export.getPath());
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete export file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static class ExportFile {
+        private final String exportId;
+        private final Path path;
+        private final String fileName;
+        private final String contentType;
+        private final long size;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime expiresAt;
+
+        ExportFile(String exportId, Path path, String fileName, String contentType, long size,
+                   LocalDateTime createdAt, LocalDateTime expiresAt) {
+            this.exportId = exportId;
+            this.path = path;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getExportId() { return exportId; }
+        public Path getPath() { return path; }
+        public String getFileName() { return fileName; }
+        public String getContentType() { return contentType; }
+        public long getSize() { return size; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDateTime getExpiresAt() { return expiresAt; }
+    }
+}
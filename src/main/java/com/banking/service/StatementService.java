@@ -0,0 +1,116 @@
+package com.banking.service;
+
+import com.banking.dto.DailySummaryResponse;
+import com.banking.dto.StatementResponse;
+import com.banking.exception.AccountAccessDeniedException;
+import com.banking.exception.ResourceNotFoundException;
+import com.banking.model.Account;
+import com.banking.model.AccountDailySummary;
+import com.banking.model.Role;
+import com.banking.model.User;
+import com.banking.repository.AccountDailySummaryRepository;
+import com.banking.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Statement summaries answered from {@link AccountDailySummary} rows, so a
+ * range costs one row per day with activity instead of one per transaction.
+ * Days without activity have no row; their balance carries over from the
+ * nearest earlier day.
+ */
+@Service
+public class StatementService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountDailySummaryRepository summaryRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Value("${banking.statement.max-days:366}")
+    private int maxDays;
+
+    @Transactional(readOnly = true)
+    public StatementResponse getMonthToDate(String accountNumber) {
+        LocalDate today = LocalDate.now();
+        return getStatement(accountNumber, today.withDayOfMonth(1), today);
+    }
+
+    @Transactional(readOnly = true)
+    public StatementResponse getStatement(String accountNumber, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new RuntimeException("Statement start and end dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Statement start date must not be after the end date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new RuntimeException("Statements cover at most " + maxDays + " days");
+        }
+
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
+
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (!currentUser.getRole().equals(Role.ADMIN) && !account.getUser().getId().equals(currentUser.getId())) {
+            throw new AccountAccessDeniedException("Access denied: You can only access your own account transactions");
+        }
+
+        List<AccountDailySummary> days = summaryRepository
+                .findByAccountIdAndBusinessDateBetweenOrderByBusinessDateAsc(account.getId(), from, to);
+
+        BigDecimal openingBalance = openingBalance(account, from, to, days);
+        BigDecimal closingBalance = days.isEmpty() ? openingBalance : days.get(days.size() - 1).getClosingBalance();
+
+        return new StatementResponse(account.getAccountNumber(), from, to, openingBalance, closingBalance,
+                days.stream().map(this::toResponse).collect(Collectors.toList()));
+    }
+
+    private BigDecimal openingBalance(Account account, LocalDate from, LocalDate to, List<AccountDailySummary> days) {
+        // The last active day before the range closed at the range's opening balance
+        BigDecimal previousClose = summaryRepository
+                .findFirstByAccountIdAndBusinessDateLessThanOrderByBusinessDateDesc(account.getId(), from)
+                .map(AccountDailySummary::getClosingBalance)
+                .orElse(null);
+        if (previousClose != null) {
+            return previousClose;
+        }
+        if (!days.isEmpty()) {
+            return days.get(0).getOpeningBalance();
+        }
+
+        // No activity up to the end of the range: the balance has not moved since, or until the next active day
+        return summaryRepository
+                .findFirstByAccountIdAndBusinessDateGreaterThanOrderByBusinessDateAsc(account.getId(), to)
+                .map(AccountDailySummary::getOpeningBalance)
+                .orElseGet(() -> accountService.mapToAccountResponse(account).getBalance());
+    }
+
+    private DailySummaryResponse toResponse(AccountDailySummary summary) {
+        return new DailySummaryResponse(
+                summary.getBusinessDate(),
+                summary.getOpeningBalance(),
+                summary.getClosingBalance(),
+                summary.getDeposits(),
+                summary.getWithdrawals(),
+                summary.getTransfersIn(),
+                summary.getTransfersOut(),
+                summary.getTransfersInCount(),
+                summary.getTransfersOutCount(),
+                summary.getTransactionCount()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package com.banking.service;
+
+import com.banking.model.Transaction;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that hands every new transaction row to
+ * {@link TransactionWriteBuffer}. It runs at persist time, before the insert is
+ * flushed, so the rows reach their handlers before commit. Rows written with
+ * plain JDBC bypass it.
+ */
+@Component
+public class TransactionInsertListener {
+
+    @Autowired
+    @Lazy
+    private TransactionWriteBuffer transactionWriteBuffer;
+
+    @PrePersist
+    public void onTransactionPersisted(Transaction transaction) {
+        transactionWriteBuffer.add(transaction);
+    }
+}
@@ -0,0 +1,71 @@
+package com.banking.service;
+
+import com.banking.model.Transaction;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the transaction rows persisted in each database transaction and
+ * hands them to every {@link TransactionWriteHandler} from a beforeCommit
+ * synchronization, so a batch touching one account many times is handled
+ * once and a rollback never reaches the handlers.
+ */
+@Component
+public class TransactionWriteBuffer {
+
+    @Autowired
+    private List<TransactionWriteHandler> handlers;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void add(Transaction transaction) {
+        // Keyed by the transaction's EntityManager, so a REQUIRES_NEW transaction collects its own rows
+        Object unitOfWork = TransactionSynchronizationManager.isSynchronizationActive()
+                ? TransactionSynchronizationManager.getResource(entityManagerFactory)
+                : null;
+        if (unitOfWork == null) {
+            notifyHandlers(List.of(transaction));
+            return;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(unitOfWork);
+        if (pending == null) {
+            pending = new Pending(unitOfWork);
+            TransactionSynchronizationManager.bindResource(unitOfWork, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.transactions.add(transaction);
+    }
+
+    private void notifyHandlers(List<Transaction> transactions) {
+        for (TransactionWriteHandler handler : handlers) {
+            handler.onTransactionsWritten(transactions);
+        }
+    }
+
+    private final class Pending implements TransactionSynchronization {
+        private final Object unitOfWork;
+        private final List<Transaction> transactions = new ArrayList<>();
+
+        Pending(Object unitOfWork) {
+            this.unitOfWork = unitOfWork;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            notifyHandlers(transactions);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(unitOfWork);
+        }
+    }
+}
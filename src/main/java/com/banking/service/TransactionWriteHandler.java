@@ -0,0 +1,16 @@
+package com.banking.service;
+
+import com.banking.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Receives the transaction rows written in a database transaction, in the
+ * order they were persisted, just before that transaction commits. Work done
+ * here commits or rolls back together with the rows; an exception rolls the
+ * whole transaction back.
+ */
+public interface TransactionWriteHandler {
+
+    void onTransactionsWritten(List<Transaction> transactions);
+}
@@ -0,0 +1,12 @@
+-- Databases created by ddl-auto before Flyway was introduced are baselined at V0, so V1
+-- ran against them but skipped the tables they already had. Bring those tables in line
+-- with V1: the optimistic locking column and VARCHAR enum columns. Every statement is a
+-- no-op on a schema V1 created.
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+
+UPDATE accounts SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE users ALTER COLUMN role SET DATA TYPE VARCHAR(20);
+ALTER TABLE accounts ALTER COLUMN account_type SET DATA TYPE VARCHAR(20);
+ALTER TABLE accounts ALTER COLUMN status SET DATA TYPE VARCHAR(20);
+ALTER TABLE transactions ALTER COLUMN type SET DATA TYPE VARCHAR(20);
@@ -0,0 +1,49 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+
+CREATE TABLE IF NOT EXISTS users (
+    id          BIGINT       GENERATED BY DEFAULT AS IDENTITY,
+    username    VARCHAR(50),
+    email       VARCHAR(100),
+    password    VARCHAR(100),
+    first_name  VARCHAR(50),
+    last_name   VARCHAR(50),
+    role        VARCHAR(20),
+    enabled     BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS accounts (
+    id              BIGINT         GENERATED BY DEFAULT AS IDENTITY,
+    account_number  VARCHAR(20),
+    balance         NUMERIC(15, 2),
+    account_type    VARCHAR(20),
+    status          VARCHAR(20),
+    version         BIGINT         DEFAULT 0,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    user_id         BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_account_number UNIQUE (account_number),
+    CONSTRAINT uk_accounts_user_id UNIQUE (user_id),
+    CONSTRAINT fk_accounts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id                   BIGINT         NOT NULL,
+    amount               NUMERIC(15, 2),
+    type                 VARCHAR(20),
+    description          VARCHAR(500),
+    transaction_date     TIMESTAMP(6),
+    balance_after        NUMERIC(15, 2),
+    account_id           BIGINT,
+    to_account_number    VARCHAR(255),
+    from_account_number  VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,16 @@
+-- Event-sourced ledger: per-account journal position on each transaction row.
+-- The unique key rejects two writers appending the same position; rows written
+-- before the journal existed keep a NULL position.
+ALTER TABLE transactions ADD COLUMN ledger_sequence BIGINT;
+ALTER TABLE transactions ADD CONSTRAINT uk_transactions_account_sequence UNIQUE (account_id, ledger_sequence);
+
+CREATE TABLE IF NOT EXISTS balance_snapshots (
+    id               BIGINT         GENERATED BY DEFAULT AS IDENTITY,
+    account_id       BIGINT         NOT NULL,
+    ledger_sequence  BIGINT         NOT NULL,
+    balance          NUMERIC(15, 2) NOT NULL,
+    created_at       TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_balance_snapshots_account_sequence UNIQUE (account_id, ledger_sequence),
+    CONSTRAINT fk_balance_snapshots_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
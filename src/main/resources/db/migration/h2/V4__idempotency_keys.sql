@@ -0,0 +1,14 @@
+-- Idempotency-Key outcomes of deposit, withdraw and transfer requests, unique per user
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id               BIGINT        GENERATED BY DEFAULT AS IDENTITY,
+    user_id          BIGINT        NOT NULL,
+    idempotency_key  VARCHAR(100)  NOT NULL,
+    request_hash     VARCHAR(64)   NOT NULL,
+    response_body    TEXT,
+    completed        BOOLEAN       NOT NULL,
+    created_at       TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_idempotency_keys_user_key UNIQUE (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,23 @@
+-- Sharding: which shard owns each account (read on the home shard only) and the
+-- saga state of transfers between accounts on different shards.
+CREATE TABLE IF NOT EXISTS account_directory (
+    account_number  VARCHAR(20)  NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    shard_id        INT          NOT NULL,
+    PRIMARY KEY (account_number),
+    CONSTRAINT uk_account_directory_user UNIQUE (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS cross_shard_transfers (
+    id                   VARCHAR(36)     NOT NULL,
+    from_account_number  VARCHAR(20)     NOT NULL,
+    to_account_number    VARCHAR(20)     NOT NULL,
+    amount               NUMERIC(15, 2)  NOT NULL,
+    state                VARCHAR(20)     NOT NULL,
+    version              BIGINT,
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_cross_shard_transfers_state ON cross_shard_transfers (state, updated_at);
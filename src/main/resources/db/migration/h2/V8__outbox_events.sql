@@ -0,0 +1,16 @@
+-- Transactional outbox: one row per ledger posting, deleted once the relay has published it
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id                           BIGINT          NOT NULL,
+    account_number               VARCHAR(20)     NOT NULL,
+    transaction_id               BIGINT          NOT NULL,
+    type                         VARCHAR(20)     NOT NULL,
+    amount                       DECIMAL(15, 2)  NOT NULL,
+    balance_after                DECIMAL(15, 2),
+    counterparty_account_number  VARCHAR(20),
+    description                  VARCHAR(500),
+    occurred_at                  TIMESTAMP(6),
+    created_at                   TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq START WITH 1 INCREMENT BY 50;
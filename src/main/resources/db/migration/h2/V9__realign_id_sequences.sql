@@ -0,0 +1,15 @@
+-- Databases created by ddl-auto before Flyway are baselined at V0 and already hold rows,
+-- but V1 and V8 just created the sequences at 1, so the first pooled block would collide.
+-- Hibernate's pooled optimizer hands out value - 49 .. value (allocationSize 50),
+-- so the next value must be at least MAX(id) + 50; never lowered, shard id blocks stay intact.
+ALTER SEQUENCE transactions_seq RESTART WITH (
+    SELECT GREATEST(COALESCE(MAX(id), 0) + 51,
+                    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TRANSACTIONS_SEQ'))
+    FROM transactions
+);
+
+ALTER SEQUENCE outbox_events_seq RESTART WITH (
+    SELECT GREATEST(COALESCE(MAX(id), 0) + 51,
+                    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'OUTBOX_EVENTS_SEQ'))
+    FROM outbox_events
+);
@@ -0,0 +1,4 @@
+-- Ledger sequence of the posting that set closing_balance. Write-behind batches of the
+-- in-memory ledger can land out of order, so only a higher sequence may replace it.
+-- Existing rows keep NULL and take the next posting's balance, as before.
+ALTER TABLE account_daily_summaries ADD COLUMN closing_sequence BIGINT;
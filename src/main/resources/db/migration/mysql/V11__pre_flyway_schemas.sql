@@ -0,0 +1,20 @@
+-- Databases created by ddl-auto before Flyway was introduced are baselined at V0, so V1
+-- ran against them but skipped the tables they already had. Bring those tables in line
+-- with V1: the optimistic locking column and VARCHAR enum columns (Hibernate 6 created
+-- MySQL ENUMs). Every statement is a no-op on a schema V1 created.
+
+-- MySQL has no ADD COLUMN IF NOT EXISTS
+SET @add_account_version = (
+    SELECT IF(COUNT(*) = 0, 'ALTER TABLE accounts ADD COLUMN version BIGINT DEFAULT 0', 'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'accounts' AND column_name = 'version'
+);
+PREPARE add_account_version FROM @add_account_version;
+EXECUTE add_account_version;
+DEALLOCATE PREPARE add_account_version;
+
+UPDATE accounts SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE users MODIFY role VARCHAR(20);
+ALTER TABLE accounts MODIFY account_type VARCHAR(20), MODIFY status VARCHAR(20);
+ALTER TABLE transactions MODIFY type VARCHAR(20);
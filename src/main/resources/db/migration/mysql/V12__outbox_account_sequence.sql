@@ -0,0 +1,8 @@
+-- Per-account outbox order. OutboxWriter advances accounts.event_sequence in the transaction that
+-- writes the events, and the row lock it takes makes an account's sequences follow commit order.
+-- Events already pending keep sequence 0 and are relayed first, in id order as before.
+ALTER TABLE accounts ADD COLUMN event_sequence BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE outbox_events ADD COLUMN account_sequence BIGINT NOT NULL DEFAULT 0;
+
+-- The relay takes the lowest sequences first, so each account's batch is a prefix of its pending events
+CREATE INDEX idx_outbox_events_account_sequence ON outbox_events (account_sequence, id);
@@ -0,0 +1,56 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- Databases created before migrations existed are baselined at this version.
+
+CREATE TABLE IF NOT EXISTS users (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    username    VARCHAR(50),
+    email       VARCHAR(100),
+    password    VARCHAR(100),
+    first_name  VARCHAR(50),
+    last_name   VARCHAR(50),
+    role        VARCHAR(20),
+    enabled     BIT          NOT NULL,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS accounts (
+    id              BIGINT         NOT NULL AUTO_INCREMENT,
+    account_number  VARCHAR(20),
+    balance         DECIMAL(15, 2),
+    account_type    VARCHAR(20),
+    status          VARCHAR(20),
+    version         BIGINT         DEFAULT 0,
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    user_id         BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_account_number UNIQUE (account_number),
+    CONSTRAINT uk_accounts_user_id UNIQUE (user_id),
+    CONSTRAINT fk_accounts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id                   BIGINT         NOT NULL,
+    amount               DECIMAL(15, 2),
+    type                 VARCHAR(20),
+    description          VARCHAR(500),
+    transaction_date     DATETIME(6),
+    balance_after        DECIMAL(15, 2),
+    account_id           BIGINT,
+    to_account_number    VARCHAR(255),
+    from_account_number  VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+
+-- MySQL has no sequences; Hibernate emulates transactions_seq with a single-row table
+CREATE TABLE IF NOT EXISTS transactions_seq (
+    next_val BIGINT
+);
+
+INSERT INTO transactions_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM transactions_seq);
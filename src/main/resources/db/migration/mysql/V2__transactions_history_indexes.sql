@@ -0,0 +1,6 @@
+-- History, keyset pagination and date-range statements:
+-- WHERE account_id = ? [AND transaction_date ...] ORDER BY transaction_date DESC, id DESC
+CREATE INDEX idx_transactions_account_date ON transactions (account_id, transaction_date DESC, id DESC);
+
+-- findByAccountIdAndType
+CREATE INDEX idx_transactions_account_type_date ON transactions (account_id, type, transaction_date);
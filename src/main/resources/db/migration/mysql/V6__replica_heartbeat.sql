@@ -0,0 +1,9 @@
+-- Read replicas: the primary stamps this row every check interval and each
+-- replica's lag is read from how old its copy of the stamp is.
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id           INT     NOT NULL,
+    beat_millis  BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, 0);
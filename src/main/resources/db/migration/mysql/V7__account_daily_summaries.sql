@@ -0,0 +1,48 @@
+-- Statement read model: one row per account and day with activity, kept up to
+-- date as transactions are written. Existing history is folded in here; the
+-- opening balance is the closing balance less the day's net movement.
+CREATE TABLE IF NOT EXISTS account_daily_summaries (
+    account_id           BIGINT          NOT NULL,
+    business_date        DATE            NOT NULL,
+    opening_balance      DECIMAL(15, 2)  NOT NULL,
+    closing_balance      DECIMAL(15, 2)  NOT NULL,
+    deposits             DECIMAL(15, 2)  NOT NULL,
+    withdrawals          DECIMAL(15, 2)  NOT NULL,
+    transfers_in         DECIMAL(15, 2)  NOT NULL,
+    transfers_out        DECIMAL(15, 2)  NOT NULL,
+    transfers_in_count   INT             NOT NULL,
+    transfers_out_count  INT             NOT NULL,
+    transaction_count    INT             NOT NULL,
+    version              BIGINT,
+    PRIMARY KEY (account_id, business_date),
+    CONSTRAINT fk_account_daily_summaries_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+
+INSERT INTO account_daily_summaries (account_id, business_date, opening_balance, closing_balance, deposits,
+                                     withdrawals, transfers_in, transfers_out, transfers_in_count,
+                                     transfers_out_count, transaction_count, version)
+SELECT d.account_id, d.business_date,
+       d.closing_balance - (d.deposits + d.transfers_in - d.withdrawals - d.transfers_out),
+       d.closing_balance, d.deposits, d.withdrawals, d.transfers_in, d.transfers_out,
+       d.transfers_in_count, d.transfers_out_count, d.transaction_count, 0
+FROM (
+    SELECT t.account_id,
+           t.business_date,
+           MAX(CASE WHEN t.latest = 1 THEN t.balance_after END)               AS closing_balance,
+           COALESCE(SUM(CASE WHEN t.type = 'DEPOSIT' THEN t.amount END), 0)      AS deposits,
+           COALESCE(SUM(CASE WHEN t.type = 'WITHDRAWAL' THEN t.amount END), 0)   AS withdrawals,
+           COALESCE(SUM(CASE WHEN t.type = 'TRANSFER_IN' THEN t.amount END), 0)  AS transfers_in,
+           COALESCE(SUM(CASE WHEN t.type = 'TRANSFER_OUT' THEN t.amount END), 0) AS transfers_out,
+           SUM(CASE WHEN t.type = 'TRANSFER_IN' THEN 1 ELSE 0 END)             AS transfers_in_count,
+           SUM(CASE WHEN t.type = 'TRANSFER_OUT' THEN 1 ELSE 0 END)            AS transfers_out_count,
+           COUNT(*)                                                            AS transaction_count
+    FROM (
+        SELECT tr.account_id, CAST(tr.transaction_date AS DATE) AS business_date, tr.type, tr.amount,
+               tr.balance_after,
+               ROW_NUMBER() OVER (PARTITION BY tr.account_id, CAST(tr.transaction_date AS DATE)
+                                  ORDER BY tr.transaction_date DESC, tr.id DESC) AS latest
+        FROM transactions tr
+        WHERE tr.transaction_date IS NOT NULL AND tr.balance_after IS NOT NULL
+    ) t
+    GROUP BY t.account_id, t.business_date
+) d;
@@ -0,0 +1,22 @@
+-- Transactional outbox: one row per ledger posting, deleted once the relay has published it
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id                           BIGINT          NOT NULL,
+    account_number               VARCHAR(20)     NOT NULL,
+    transaction_id               BIGINT          NOT NULL,
+    type                         VARCHAR(20)     NOT NULL,
+    amount                       DECIMAL(15, 2)  NOT NULL,
+    balance_after                DECIMAL(15, 2),
+    counterparty_account_number  VARCHAR(20),
+    description                  VARCHAR(500),
+    occurred_at                  DATETIME(6),
+    created_at                   DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- MySQL has no sequences; Hibernate emulates outbox_events_seq with a single-row table
+CREATE TABLE IF NOT EXISTS outbox_events_seq (
+    next_val BIGINT
+);
+
+INSERT INTO outbox_events_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM outbox_events_seq);
@@ -0,0 +1,9 @@
+-- Databases created by ddl-auto before Flyway are baselined at V0 and already hold rows,
+-- but V1 and V8 just seeded the sequence tables with 1, so the first pooled block would collide.
+-- Hibernate's pooled optimizer hands out next_val - 49 .. next_val (allocationSize 50),
+-- so next_val must be at least MAX(id) + 50; never lowered, shard id blocks stay intact.
+UPDATE transactions_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM transactions));
+
+UPDATE outbox_events_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM outbox_events));
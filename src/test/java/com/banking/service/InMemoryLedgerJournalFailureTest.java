@@ -0,0 +1,100 @@
+package com.banking.service;
+
+import com.banking.dto.TransactionResponse;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Transaction;
+import com.banking.model.User;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A journal fsync that fails after a posting has been applied must not turn
+ * into an error for that posting: it is acknowledged once the write-behind has
+ * stored it, and every later posting is refused without touching the balance.
+ */
+class InMemoryLedgerJournalFailureTest {
+
+    private final LedgerJournal journal = mock(LedgerJournal.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final InMemoryLedger ledger = new InMemoryLedger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        ReflectionTestUtils.setField(ledger, "accountRepository", mock(AccountRepository.class));
+        ReflectionTestUtils.setField(ledger, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(ledger, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(ledger, "journal", journal);
+        ReflectionTestUtils.setField(ledger, "flushIntervalMs", 5L);
+        ReflectionTestUtils.setField(ledger, "batchSize", 500);
+        ReflectionTestUtils.setField(ledger, "maxAttempts", 5);
+
+        LedgerJournal.Ticket ticket = mock(LedgerJournal.Ticket.class);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.write(any()))
+                .thenReturn(ticket)
+                .thenThrow(new RuntimeException("Ledger journal is unavailable"));
+        doThrow(new RuntimeException("Ledger journal sync failed")).when(journal).awaitDurable(ticket);
+    }
+
+    @Test
+    void postingWhoseSyncFailedIsAcknowledgedOnceStored() throws Exception {
+        InMemoryLedger.LedgerAccount account = new InMemoryLedger.LedgerAccount(account(new BigDecimal("100.00")), 0);
+
+        CompletableFuture<TransactionResponse> deposit = CompletableFuture.supplyAsync(
+                () -> ledger.deposit(account, new BigDecimal("50.00"), "sync failure"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!deposit.isDone() && System.nanoTime() < deadline) {
+            ledger.flush();
+            Thread.sleep(5);
+        }
+
+        TransactionResponse response = deposit.get(1, TimeUnit.SECONDS);
+        assertThat(response.getBalanceAfter()).isEqualByComparingTo("150.00");
+        assertThat(account.getBalance()).isEqualByComparingTo("150.00");
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(journal).release(any(), anyInt());
+
+        // The journal is failed from here on, so later postings are undone and refused
+        assertThatThrownBy(() -> ledger.withdraw(account, new BigDecimal("20.00"), "after failure"))
+                .hasMessage("Ledger journal is unavailable");
+        assertThat(account.getBalance()).isEqualByComparingTo("150.00");
+    }
+
+    private static Account account(BigDecimal balance) {
+        User user = new User();
+        user.setId(1L);
+        Account account = new Account("3000000001", AccountType.CHECKING, user);
+        account.setId(1L);
+        account.setBalance(balance);
+        return account;
+    }
+}
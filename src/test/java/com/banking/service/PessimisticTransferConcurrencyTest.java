@@ -0,0 +1,123 @@
+package com.banking.service;
+
+import com.banking.dto.TransactionRequest;
+import com.banking.model.User;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.TransactionRepository;
+import com.banking.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opposing A->B / B->A transfers on H2 with pessimistic locking: every transfer
+ * must complete (no deadlock surfaces past the retries) and the final balances
+ * must account for every committed transfer (no lost update). The two
+ * directions move different amounts, so a lost update in either shows up in
+ * both balances. Runs 2,000 transfers by default; pass
+ * -Dtransfer.concurrency.transfers=10000 for the full-size run.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transfer-concurrency;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "banking.transfer.pessimistic-locking=true",
+        "banking.transfer.lock-timeout-ms=3000"
+})
+class PessimisticTransferConcurrencyTest {
+
+    private static final String ACCOUNT_A = "2000000001";
+    private static final String ACCOUNT_B = "2000000002";
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = Integer.getInteger("transfer.concurrency.transfers", 2000) / THREADS;
+    private static final BigDecimal A_TO_B = new BigDecimal("0.40");
+    private static final BigDecimal B_TO_A = new BigDecimal("0.25");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void opposingTransfersNeitherDeadlockNorLoseUpdates() throws Exception {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        BigDecimal initialA = balance(ACCOUNT_A);
+        BigDecimal initialB = balance(ACCOUNT_B);
+        long initialRows = transactionRepository.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                boolean aToB = t % 2 == 0;
+                results.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+                    start.await();
+                    int completed = 0;
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        String from = aToB ? ACCOUNT_A : ACCOUNT_B;
+                        String to = aToB ? ACCOUNT_B : ACCOUNT_A;
+                        BigDecimal amount = aToB ? A_TO_B : B_TO_A;
+                        accountService.transfer(from, new TransactionRequest(amount, "concurrency test", to));
+                        completed++;
+                    }
+                    return completed;
+                }));
+            }
+            start.countDown();
+
+            int completed = 0;
+            for (Future<Integer> result : results) {
+                completed += result.get(5, TimeUnit.MINUTES);
+            }
+            assertThat(completed).isEqualTo(THREADS * TRANSFERS_PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Half the threads move A->B and half B->A, the same number of times each
+        BigDecimal perDirection = BigDecimal.valueOf((long) THREADS / 2 * TRANSFERS_PER_THREAD);
+        BigDecimal net = A_TO_B.subtract(B_TO_A).multiply(perDirection);
+        assertThat(balance(ACCOUNT_A)).isEqualByComparingTo(initialA.subtract(net));
+        assertThat(balance(ACCOUNT_B)).isEqualByComparingTo(initialB.add(net));
+
+        // One TRANSFER_OUT and one TRANSFER_IN row per transfer
+        assertThat(transactionRepository.count()).isEqualTo(initialRows + 2L * THREADS * TRANSFERS_PER_THREAD);
+    }
+
+    private BigDecimal balance(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance();
+    }
+}